@@ -0,0 +1,290 @@
+package net.typicartist.nebula.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates an {@code ISubscriberIndex} for every class declaring {@code @Subscriber} methods,
+ * and registers the generated indexes as {@link java.util.ServiceLoader} providers.
+ * <p>
+ * The generated index lives in the package of the subscriber class and calls the subscriber
+ * methods directly, so classes with private subscriber methods or classes that are not
+ * reachable from their package are skipped and left to the reflective fallback of the bus.
+ * </p>
+ */
+@SupportedAnnotationTypes(SubscriberIndexProcessor.SUBSCRIBER)
+public class SubscriberIndexProcessor extends AbstractProcessor {
+    static final String SUBSCRIBER = "net.typicartist.nebula.Subscriber";
+    static final String INDEX = "net.typicartist.nebula.index.ISubscriberIndex";
+    static final String INDEX_SUFFIX = "_NebulaIndex";
+
+    private final Set<String> generated = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+
+        Set<TypeElement> subscribers = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.METHOD) {
+                    subscribers.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+        }
+
+        for (TypeElement subscriber : subscribers) {
+            List<ExecutableElement> methods = collectMethods(subscriber);
+            if (methods == null || methods.isEmpty()) continue;
+            if (!isAccessibleFromPackage(subscriber)) continue;
+
+            writeIndex(subscriber, methods);
+        }
+
+        return false;
+    }
+
+    /**
+     * Collects the valid subscriber methods of a class, reporting invalid signatures as errors.
+     *
+     * @return the methods, or null if the class cannot be indexed
+     */
+    private List<ExecutableElement> collectMethods(TypeElement subscriber) {
+        List<ExecutableElement> methods = new ArrayList<>();
+        boolean indexable = true;
+
+        for (Element element : subscriber.getEnclosedElements()) {
+            if (element.getKind() != ElementKind.METHOD || findSubscriber(element) == null) continue;
+            ExecutableElement method = (ExecutableElement) element;
+
+            if (method.getParameters().size() != 1 || method.getReturnType().getKind() != TypeKind.VOID
+                    || method.getModifiers().contains(Modifier.STATIC)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Subscriber methods must be non-static, return void and take a single event parameter", method);
+                indexable = false;
+                continue;
+            }
+
+            TypeMirror eventType = eventType(method);
+            if (eventType == null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Batch subscriber methods must take a single java.util.List of events", method);
+                indexable = false;
+                continue;
+            }
+
+            if (method.getModifiers().contains(Modifier.PRIVATE) || !isAccessibleFromPackage(eventType)) {
+                indexable = false;
+                continue;
+            }
+
+            methods.add(method);
+        }
+
+        return indexable ? methods : null;
+    }
+
+    private void writeIndex(TypeElement subscriber, List<ExecutableElement> methods) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(subscriber);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String simpleName = indexSimpleName(subscriber);
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        String subscriberType = processingEnv.getTypeUtils().erasure(subscriber.asType()).toString();
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) source.append("package ").append(packageName).append(";\n\n");
+        source.append("import net.typicartist.nebula.index.SubscriberMethod;\n\n");
+        source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        source.append("public final class ").append(simpleName).append(" implements ").append(INDEX).append(" {\n");
+        source.append("    private static final SubscriberMethod[] METHODS = {\n");
+
+        for (ExecutableElement method : methods) {
+            Map<String, String> values = annotationValues(findSubscriber(method));
+            boolean batch = Boolean.parseBoolean(values.get("batch"));
+            String eventType = eventType(method).toString();
+            String parameterType = batch ? "java.util.List" : eventType;
+
+            source.append("        SubscriberMethod.builder(\"").append(method.getSimpleName()).append("\", ")
+                    .append(eventType).append(".class)\n");
+            // Integer.MIN_VALUE is Subscriber.DEFAULT_ORDER, deferring to the priority enum
+            if (Integer.parseInt(values.get("order")) != Integer.MIN_VALUE) {
+                source.append("                .priority(").append(values.get("order")).append(")\n");
+            } else {
+                source.append("                .priority(net.typicartist.nebula.EventPriority.").append(values.get("priority")).append(".getValue())\n");
+            }
+            source.append("                .once(").append(values.get("once")).append(")\n");
+            source.append("                .dispatch(net.typicartist.nebula.DispatchMode.").append(values.get("dispatch")).append(")\n");
+            source.append("                .maxConcurrency(").append(values.get("maxConcurrency")).append(")\n");
+            source.append("                .batch(").append(batch).append(")\n");
+            source.append("                .maxBatchSize(").append(values.get("maxBatchSize")).append(")\n");
+            source.append("                .maxBatchDelay(").append(values.get("maxBatchDelay")).append("L)\n");
+            source.append("                .conflate(").append(values.get("conflate")).append(")\n");
+            source.append("                .queueCapacity(").append(values.get("queueCapacity")).append(")\n");
+            source.append("                .overflow(net.typicartist.nebula.OverflowPolicy.").append(values.get("overflow")).append(")\n");
+            String call = "((" + subscriberType + ") subscriber)." + method.getSimpleName() + "((" + parameterType + ") event)";
+            if (method.getThrownTypes().isEmpty()) {
+                source.append("                .factory(subscriber -> event -> ").append(call).append(")\n");
+            } else {
+                // checked exceptions are wrapped like the reflective consumers do
+                source.append("                .factory(subscriber -> event -> {\n");
+                source.append("                    try {\n");
+                source.append("                        ").append(call).append(";\n");
+                source.append("                    } catch (RuntimeException | Error e) {\n");
+                source.append("                        throw e;\n");
+                source.append("                    } catch (Throwable t) {\n");
+                source.append("                        throw new RuntimeException(\"Error invoking event handler\", t);\n");
+                source.append("                    }\n");
+                source.append("                })\n");
+            }
+            source.append("                .build(),\n");
+        }
+
+        source.append("    };\n\n");
+        source.append("    @Override\n");
+        source.append("    public Class<?> getSubscriberClass() {\n");
+        source.append("        return ").append(subscriberType).append(".class;\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public SubscriberMethod[] getSubscriberMethods() {\n");
+        source.append("        return METHODS;\n");
+        source.append("    }\n");
+        source.append("}\n");
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, subscriber);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+            generated.add(qualifiedName);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot write subscriber index " + qualifiedName + ": " + e.getMessage(), subscriber);
+        }
+    }
+
+    private void writeServiceFile() {
+        if (generated.isEmpty()) return;
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    "META-INF/services/" + INDEX);
+            try (Writer writer = file.openWriter()) {
+                for (String name : generated) {
+                    writer.write(name);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot write subscriber index service file: " + e.getMessage());
+        }
+    }
+
+    private AnnotationMirror findSubscriber(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(SUBSCRIBER)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private Map<String, String> annotationValues(AnnotationMirror mirror) {
+        Map<String, String> values = new HashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            Object value = entry.getValue().getValue();
+            values.put(entry.getKey().getSimpleName().toString(),
+                    value instanceof Element constant ? constant.getSimpleName().toString() : String.valueOf(value));
+        }
+        return values;
+    }
+
+    /**
+     * Returns the erased event type of a subscriber method; for batch subscribers this is
+     * the element type of its {@code List} parameter.
+     *
+     * @return the event type, or null for a batch method not taking a list
+     */
+    private TypeMirror eventType(ExecutableElement method) {
+        TypeMirror parameter = method.getParameters().get(0).asType();
+        if (!Boolean.parseBoolean(annotationValues(findSubscriber(method)).get("batch"))) return erasure(parameter);
+
+        TypeElement list = processingEnv.getElementUtils().getTypeElement("java.util.List");
+        if (!(parameter instanceof DeclaredType declared) || !declared.asElement().equals(list)
+                || declared.getTypeArguments().size() != 1) {
+            return null;
+        }
+
+        TypeMirror element = declared.getTypeArguments().get(0);
+        if (element instanceof WildcardType wildcard) {
+            element = wildcard.getExtendsBound() != null
+                    ? wildcard.getExtendsBound()
+                    : processingEnv.getElementUtils().getTypeElement("java.lang.Object").asType();
+        }
+        return erasure(element);
+    }
+
+    private TypeMirror erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type);
+    }
+
+    private boolean isAccessibleFromPackage(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) return type.getKind() == TypeKind.ARRAY;
+        return isAccessibleFromPackage((TypeElement) processingEnv.getTypeUtils().asElement(type));
+    }
+
+    private boolean isAccessibleFromPackage(TypeElement type) {
+        for (Element current = type; current instanceof TypeElement element; current = current.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) return false;
+            if (element.getNestingKind() == NestingKind.LOCAL || element.getNestingKind() == NestingKind.ANONYMOUS) return false;
+        }
+        return true;
+    }
+
+    private String indexSimpleName(TypeElement subscriber) {
+        StringBuilder name = new StringBuilder(subscriber.getSimpleName());
+        for (Element current = subscriber.getEnclosingElement(); current instanceof TypeElement element; current = current.getEnclosingElement()) {
+            name.insert(0, element.getSimpleName() + "_");
+        }
+        return name.append(INDEX_SUFFIX).toString();
+    }
+}
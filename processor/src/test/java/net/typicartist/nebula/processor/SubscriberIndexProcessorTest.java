@@ -0,0 +1,199 @@
+package net.typicartist.nebula.processor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import net.typicartist.nebula.DispatchMode;
+import net.typicartist.nebula.EventPriority;
+import net.typicartist.nebula.index.ISubscriberIndex;
+import net.typicartist.nebula.index.SubscriberMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubscriberIndexProcessorTest {
+
+    private Path sources;
+    private Path classes;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        sources = Files.createTempDirectory("nebula-src");
+        classes = Files.createTempDirectory("nebula-classes");
+        diagnostics = new DiagnosticCollector<>();
+    }
+
+    private boolean compile(String className, String source) throws IOException {
+        Path file = sources.resolve(className.replace('.', '/') + ".java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, source);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics,
+                    List.of("-classpath", System.getProperty("java.class.path"), "-d", classes.toString()),
+                    null, files.getJavaFileObjects(file));
+            task.setProcessors(List.of(new SubscriberIndexProcessor()));
+            return task.call();
+        }
+    }
+
+    @Test
+    public void testGeneratesIndexAndServiceFile() throws Exception {
+        assertTrue(compile("demo.Listener", """
+                package demo;
+
+                import net.typicartist.nebula.DispatchMode;
+                import net.typicartist.nebula.EventPriority;
+                import net.typicartist.nebula.Subscriber;
+
+                public class Listener {
+                    public String received;
+
+                    @Subscriber(priority = EventPriority.HIGH, once = true, dispatch = DispatchMode.VIRTUAL, maxConcurrency = 4)
+                    void onMessage(String message) {
+                        received = message;
+                    }
+                }
+                """), diagnostics.getDiagnostics().toString());
+
+        String services = Files.readString(classes.resolve("META-INF/services/" + SubscriberIndexProcessor.INDEX));
+        assertEquals("demo.Listener_NebulaIndex\n", services);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { classes.toUri().toURL() }, getClass().getClassLoader())) {
+            ISubscriberIndex index = (ISubscriberIndex) loader.loadClass("demo.Listener_NebulaIndex").getConstructor().newInstance();
+            Class<?> listenerClass = loader.loadClass("demo.Listener");
+            assertSame(listenerClass, index.getSubscriberClass());
+
+            SubscriberMethod[] methods = index.getSubscriberMethods();
+            assertEquals(1, methods.length);
+            assertEquals("onMessage", methods[0].getName());
+            assertEquals(String.class, methods[0].getEventType());
+            assertEquals(EventPriority.HIGH.getValue(), methods[0].getPriority());
+            assertTrue(methods[0].isOnce());
+            assertEquals(DispatchMode.VIRTUAL, methods[0].getDispatchMode());
+            assertEquals(4, methods[0].getMaxConcurrency());
+            assertNull(methods[0].getConflationKey());
+            assertEquals(0, methods[0].getQueueCapacity());
+
+            Object listener = listenerClass.getConstructor().newInstance();
+            methods[0].getFactory().bind(listener).accept("indexed");
+            assertEquals("indexed", listenerClass.getField("received").get(listener));
+        }
+    }
+
+    @Test
+    public void testSkipsClassesWithPrivateSubscriberMethods() throws Exception {
+        assertTrue(compile("demo.Hidden", """
+                package demo;
+
+                import net.typicartist.nebula.Subscriber;
+
+                public class Hidden {
+                    @Subscriber
+                    private void onMessage(String message) {
+                    }
+                }
+                """), diagnostics.getDiagnostics().toString());
+
+        assertFalse(Files.exists(classes.resolve("demo/Hidden_NebulaIndex.class")));
+    }
+
+    @Test
+    public void testRejectsInvalidSignature() throws Exception {
+        assertFalse(compile("demo.Invalid", """
+                package demo;
+
+                import net.typicartist.nebula.Subscriber;
+
+                public class Invalid {
+                    @Subscriber
+                    public int onMessage(String message, int extra) {
+                        return extra;
+                    }
+                }
+                """));
+
+        assertTrue(diagnostics.getDiagnostics().stream().anyMatch(d -> d.getKind() == Diagnostic.Kind.ERROR));
+    }
+
+    @Test
+    public void testIndexesBatchSubscriber() throws Exception {
+        assertTrue(compile("demo.Sink", """
+                package demo;
+
+                import java.util.List;
+
+                import net.typicartist.nebula.Subscriber;
+
+                public class Sink {
+                    public int received;
+
+                    @Subscriber(batch = true, maxBatchSize = 50, maxBatchDelay = 5, order = -7)
+                    public void onMessages(List<? extends CharSequence> messages) {
+                        received += messages.size();
+                    }
+                }
+                """), diagnostics.getDiagnostics().toString());
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { classes.toUri().toURL() }, getClass().getClassLoader())) {
+            ISubscriberIndex index = (ISubscriberIndex) loader.loadClass("demo.Sink_NebulaIndex").getConstructor().newInstance();
+            SubscriberMethod method = index.getSubscriberMethods()[0];
+
+            assertEquals(CharSequence.class, method.getEventType());
+            assertEquals(-7, method.getPriority());
+            assertTrue(method.isBatch());
+            assertEquals(50, method.getMaxBatchSize());
+            assertEquals(5L, method.getMaxBatchDelay());
+            assertNull(method.getConflationKey());
+
+            Class<?> sinkClass = loader.loadClass("demo.Sink");
+            Object sink = sinkClass.getConstructor().newInstance();
+            method.getFactory().bind(sink).accept(List.of("a", "b"));
+            assertEquals(2, sinkClass.getField("received").get(sink));
+        }
+    }
+
+    @Test
+    public void testWrapsCheckedExceptionsOfIndexedMethods() throws Exception {
+        assertTrue(compile("demo.Failing", """
+                package demo;
+
+                import java.io.IOException;
+
+                import net.typicartist.nebula.Subscriber;
+
+                public class Failing {
+                    @Subscriber
+                    public void onMessage(String message) throws IOException {
+                        if (message.isEmpty()) throw new IllegalArgumentException("empty");
+                        throw new IOException(message);
+                    }
+                }
+                """), diagnostics.getDiagnostics().toString());
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { classes.toUri().toURL() }, getClass().getClassLoader())) {
+            ISubscriberIndex index = (ISubscriberIndex) loader.loadClass("demo.Failing_NebulaIndex").getConstructor().newInstance();
+            Object failing = loader.loadClass("demo.Failing").getConstructor().newInstance();
+            var consumer = index.getSubscriberMethods()[0].getFactory().bind(failing);
+
+            RuntimeException wrapped = assertThrows(RuntimeException.class, () -> consumer.accept("broken"));
+            assertTrue(wrapped.getCause() instanceof IOException);
+            assertThrows(IllegalArgumentException.class, () -> consumer.accept(""));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package net.typicartist.nebula;
+
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.*;
+
+import net.typicartist.nebula.handler.IEventHandler;
+
+/**
+ * Compares the {@link HandlerList} snapshot array with the {@code ConcurrentSkipListSet}
+ * it replaced as storage for the handlers of one event type.
+ * <p>
+ * {@code iterate*} walks all handlers, as compiling a dispatch chain and querying subscribers do.
+ * {@code register*} adds and removes a handler from 4 threads at once; run with {@code -prof gc}
+ * to compare the allocation per registration change.
+ * </p>
+ * <p>
+ * Footprint per stored handler, with compressed references: the skip list keeps a 24 byte
+ * node per handler plus a 24 byte index node for about every other handler on average,
+ * while the array keeps a single 4 byte reference.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HandlerStorageBenchmark {
+    private static final AtomicInteger IDS = new AtomicInteger();
+    private static final Comparator<IEventHandler> ORDER = Comparator.comparingInt(IEventHandler::getPriority).reversed()
+            .thenComparingInt(handler -> ((Handler) handler).id);
+
+    static final class Handler implements IEventHandler {
+        final int id = IDS.incrementAndGet();
+        final int priority;
+
+        Handler(int priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public Class<?> getEventType() {
+            return Object.class;
+        }
+
+        @Override
+        public boolean isOnce() {
+            return false;
+        }
+
+        @Override
+        public boolean isActive() {
+            return true;
+        }
+
+        @Override
+        public void setActive(boolean active) {
+        }
+
+        @Override
+        public void invoke(Object event) {
+        }
+
+        @Override
+        public Object getSubscriber() {
+            return null;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Registration {
+        final Handler handler = new Handler(EventPriority.NORMAL.getValue());
+    }
+
+    @Param({ "1", "10", "100", "1000" })
+    public int handlers;
+
+    private ConcurrentSkipListSet<IEventHandler> skipList;
+    private HandlerList handlerList;
+
+    @Setup
+    public void setUp() {
+        skipList = new ConcurrentSkipListSet<>(ORDER);
+        handlerList = new HandlerList(ORDER);
+
+        EventPriority[] priorities = EventPriority.values();
+        for (int i = 0; i < handlers; i++) {
+            Handler handler = new Handler(priorities[i % priorities.length].getValue());
+            skipList.add(handler);
+            handlerList.add(handler);
+        }
+    }
+
+    @Benchmark
+    public int iterateSkipList() {
+        int sum = 0;
+        for (IEventHandler handler : skipList) sum += handler.getPriority();
+        return sum;
+    }
+
+    @Benchmark
+    public int iterateHandlerList() {
+        int sum = 0;
+        for (IEventHandler handler : handlerList.snapshot()) sum += handler.getPriority();
+        return sum;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean registerSkipList(Registration registration) {
+        skipList.add(registration.handler);
+        return skipList.remove(registration.handler);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean registerHandlerList(Registration registration) {
+        handlerList.add(registration.handler);
+        return handlerList.remove(registration.handler);
+    }
+}
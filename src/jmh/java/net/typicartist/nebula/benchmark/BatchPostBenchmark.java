@@ -0,0 +1,63 @@
+package net.typicartist.nebula.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import net.typicartist.nebula.EventBus;
+import net.typicartist.nebula.EventPriority;
+
+/**
+ * Throughput of posting a batch of same-class events with {@link EventBus#postAll(Object[])}
+ * compared to calling {@link EventBus#post(Object)} for every event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchPostBenchmark {
+
+    public static class Tick {
+        final long price;
+
+        Tick(long price) {
+            this.price = price;
+        }
+    }
+
+    @Param({ "1000" })
+    public int batchSize;
+
+    @Param({ "1", "10" })
+    public int handlers;
+
+    private EventBus bus;
+    private Tick[] batch;
+    private long sum;
+
+    @Setup
+    public void setUp() {
+        bus = new EventBus();
+        EventPriority[] priorities = EventPriority.values();
+        for (int i = 0; i < handlers; i++) {
+            bus.register(Tick.class, t -> sum += t.price, priorities[i % priorities.length], false);
+        }
+
+        batch = new Tick[batchSize];
+        for (int i = 0; i < batchSize; i++) batch[i] = new Tick(i);
+    }
+
+    @Benchmark
+    public long loopOfPost() {
+        for (Tick tick : batch) bus.post(tick);
+        return sum;
+    }
+
+    @Benchmark
+    public long postAll() {
+        bus.postAll(batch);
+        return sum;
+    }
+}
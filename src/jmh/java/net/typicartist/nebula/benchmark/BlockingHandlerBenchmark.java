@@ -0,0 +1,44 @@
+package net.typicartist.nebula.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.*;
+
+import net.typicartist.nebula.DispatchMode;
+import net.typicartist.nebula.EventBus;
+import net.typicartist.nebula.EventPriority;
+
+/**
+ * Latency seen by the posting thread when the only handler blocks for about 100µs,
+ * with the handler running on the posting thread or on virtual threads.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockingHandlerBenchmark {
+
+    public static class Event {
+    }
+
+    @Param({ "SYNC", "VIRTUAL" })
+    public DispatchMode mode;
+
+    private EventBus bus;
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        bus = EventBus.builder().dispatchMode(mode).build();
+        bus.register(Event.class, e -> LockSupport.parkNanos(100_000), EventPriority.NORMAL, false);
+        event = new Event();
+    }
+
+    @Benchmark
+    public void post() {
+        bus.post(event);
+    }
+}
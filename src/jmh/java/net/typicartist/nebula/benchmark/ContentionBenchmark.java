@@ -0,0 +1,62 @@
+package net.typicartist.nebula.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import net.typicartist.nebula.EventBus;
+import net.typicartist.nebula.EventPriority;
+import net.typicartist.nebula.ISubscription;
+
+/**
+ * Throughput of posting to one bus from several threads: {@code post} with a fixed set of
+ * handlers, and {@code mixed} with one thread changing registrations while three post.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentionBenchmark {
+
+    public static class Event {
+        long value;
+    }
+
+    @State(Scope.Thread)
+    public static class Poster {
+        final Event event = new Event();
+    }
+
+    private EventBus bus;
+
+    @Setup
+    public void setUp() {
+        bus = new EventBus();
+        for (int i = 0; i < 10; i++) bus.register(Event.class, e -> e.value++, i, false);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long post(Poster poster) {
+        bus.post(poster.event);
+        return poster.event.value;
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public long mixedPost(Poster poster) {
+        bus.post(poster.event);
+        return poster.event.value;
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedRegister() {
+        ISubscription subscription = bus.register(Event.class, e -> {}, EventPriority.LOW, false);
+        subscription.close();
+    }
+}
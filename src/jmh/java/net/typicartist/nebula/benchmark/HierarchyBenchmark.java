@@ -0,0 +1,93 @@
+package net.typicartist.nebula.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import net.typicartist.nebula.EventBus;
+import net.typicartist.nebula.EventPriority;
+import net.typicartist.nebula.ISubscription;
+
+/**
+ * Cost of posting events deep in a class hierarchy with a handler on every level.
+ * {@code post} uses the cached dispatch chain; {@code postAfterRegistrationChange}
+ * changes a registration before every post, so the chain of the whole hierarchy is
+ * rebuilt each time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HierarchyBenchmark {
+
+    public interface Marker {
+    }
+
+    public static class Level0 implements Marker {
+        long value;
+    }
+
+    public static class Level1 extends Level0 {
+    }
+
+    public static class Level2 extends Level1 {
+    }
+
+    public static class Level3 extends Level2 {
+    }
+
+    public static class Level4 extends Level3 {
+    }
+
+    public static class Level5 extends Level4 {
+    }
+
+    public static class Level6 extends Level5 {
+    }
+
+    public static class Level7 extends Level6 {
+    }
+
+    public static class Level8 extends Level7 {
+    }
+
+    private static final Level0[] EVENTS = {
+            new Level0(), new Level1(), new Level2(), new Level3(), new Level4(),
+            new Level5(), new Level6(), new Level7(), new Level8()
+    };
+
+    @Param({ "0", "4", "8" })
+    public int depth;
+
+    private EventBus bus;
+    private Level0 event;
+
+    @Setup
+    public void setUp() {
+        bus = new EventBus();
+        event = EVENTS[depth];
+
+        bus.register(Marker.class, e -> {}, EventPriority.NORMAL, false);
+        for (int i = 0; i <= depth; i++) {
+            @SuppressWarnings("unchecked")
+            Class<Level0> level = (Class<Level0>) EVENTS[i].getClass();
+            bus.register(level, e -> e.value++, EventPriority.NORMAL, false);
+        }
+    }
+
+    @Benchmark
+    public long post() {
+        bus.post(event);
+        return event.value;
+    }
+
+    @Benchmark
+    public long postAfterRegistrationChange() {
+        ISubscription subscription = bus.register(Marker.class, e -> {}, EventPriority.LOW, false);
+        subscription.close();
+        bus.post(event);
+        return event.value;
+    }
+}
@@ -0,0 +1,66 @@
+package net.typicartist.nebula.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import net.typicartist.nebula.EventBus;
+import net.typicartist.nebula.EventPriority;
+import net.typicartist.nebula.Subscriber;
+import net.typicartist.nebula.consumer.ConsumerFactories;
+
+/**
+ * Compares the cost of posting to a subscriber method invoked through a generated
+ * lambda consumer, through a bound method handle, and through a hand-written lambda.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvokerBenchmark {
+
+    public static class Event {
+        long value;
+    }
+
+    public static class Listener {
+        long sum;
+
+        @Subscriber(priority = EventPriority.NORMAL)
+        public void onEvent(Event event) {
+            sum += event.value;
+        }
+    }
+
+    @Param({ "lambdaMetafactory", "methodHandle", "directLambda" })
+    public String invoker;
+
+    private EventBus bus;
+    private Listener listener;
+    private Event event;
+
+    @Setup
+    public void setUp() throws Exception {
+        bus = new EventBus();
+        listener = new Listener();
+        event = new Event();
+        event.value = 1;
+
+        switch (invoker) {
+            case "lambdaMetafactory" -> bus.register(listener);
+            case "methodHandle" -> bus.register(Event.class,
+                    ConsumerFactories.methodHandle(Listener.class.getMethod("onEvent", Event.class)).bind(listener)::accept,
+                    EventPriority.NORMAL, false);
+            case "directLambda" -> bus.register(Event.class, listener::onEvent, EventPriority.NORMAL, false);
+            default -> throw new IllegalArgumentException(invoker);
+        }
+    }
+
+    @Benchmark
+    public long post() {
+        bus.post(event);
+        return listener.sum;
+    }
+}
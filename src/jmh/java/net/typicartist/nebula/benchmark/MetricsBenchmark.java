@@ -0,0 +1,49 @@
+package net.typicartist.nebula.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import net.typicartist.nebula.EventBus;
+import net.typicartist.nebula.metrics.EventMetrics;
+import net.typicartist.nebula.metrics.IEventMetrics;
+
+/**
+ * Overhead of latency metrics on a synchronous post, with metrics disabled and with
+ * the in-memory {@link EventMetrics} recording every handler and post.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    public static class Event {
+        long value;
+    }
+
+    @Param({ "1", "10" })
+    public int handlers;
+
+    @Param({ "false", "true" })
+    public boolean metrics;
+
+    private EventBus bus;
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        bus = EventBus.builder().metrics(metrics ? new EventMetrics() : IEventMetrics.NONE).build();
+        event = new Event();
+
+        for (int i = 0; i < handlers; i++) bus.register(Event.class, e -> e.value++, i, false);
+    }
+
+    @Benchmark
+    public long post() {
+        bus.post(event);
+        return event.value;
+    }
+}
@@ -0,0 +1,69 @@
+package net.typicartist.nebula.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.typicartist.nebula.EventBus;
+import net.typicartist.nebula.EventPriority;
+import net.typicartist.nebula.dispatch.PartitionedDispatcher;
+
+/**
+ * Sustained throughput of the partitioned dispatcher with 4 producers spreading events over
+ * 1024 keys, against the partition count. Each handler burns a little CPU so that delivery,
+ * not publication, is the bottleneck and the score shows how delivery scales with partitions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartitionedDispatcherBenchmark {
+
+    public record Event(int key) {
+    }
+
+    @State(Scope.Thread)
+    public static class Producer {
+        private final Event[] events = new Event[1024];
+        private int next;
+
+        @Setup
+        public void setUp() {
+            for (int i = 0; i < events.length; i++) events[i] = new Event(i);
+        }
+
+        Event next() {
+            return events[next++ & (events.length - 1)];
+        }
+    }
+
+    @Param({ "1", "2", "4", "8" })
+    public int partitions;
+
+    private PartitionedDispatcher dispatcher;
+
+    @Setup
+    public void setUp() {
+        EventBus bus = new EventBus();
+        bus.register(Event.class, e -> Blackhole.consumeCPU(64), EventPriority.NORMAL, false);
+        dispatcher = PartitionedDispatcher.builder(bus)
+                .partitions(partitions)
+                .bufferSize(8192)
+                .key(Event.class, Event::key)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void dispatch(Producer producer) {
+        dispatcher.dispatch(producer.next());
+    }
+}
@@ -0,0 +1,84 @@
+package net.typicartist.nebula.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import net.typicartist.nebula.EventBus;
+import net.typicartist.nebula.ICancellable;
+
+/**
+ * Cost of a synchronous post against the number of handlers, for plain events and for
+ * cancellable events that are never cancelled or cancelled by the first handler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostBenchmark {
+
+    public static class Event {
+        long value;
+    }
+
+    public static class CancellableEvent implements ICancellable {
+        long value;
+        boolean cancelled;
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void setCancelled(boolean cancelled) {
+            this.cancelled = cancelled;
+        }
+    }
+
+    public static class CancelledEvent extends CancellableEvent {
+    }
+
+    @Param({ "0", "1", "10", "100" })
+    public int handlers;
+
+    private EventBus bus;
+    private Event event;
+    private CancellableEvent cancellable;
+    private CancelledEvent cancelled;
+
+    @Setup
+    public void setUp() {
+        bus = new EventBus();
+        event = new Event();
+        cancellable = new CancellableEvent();
+        cancelled = new CancelledEvent();
+
+        for (int i = 0; i < handlers; i++) {
+            bus.register(Event.class, e -> e.value++, i, false);
+            bus.register(CancellableEvent.class, e -> e.value++, i, false);
+        }
+        if (handlers > 0) bus.register(CancelledEvent.class, e -> e.setCancelled(true), handlers, false);
+    }
+
+    @Benchmark
+    public long post() {
+        bus.post(event);
+        return event.value;
+    }
+
+    @Benchmark
+    public long postCancellable() {
+        bus.post(cancellable);
+        return cancellable.value;
+    }
+
+    @Benchmark
+    public long postCancelledByFirstHandler() {
+        cancelled.cancelled = false;
+        bus.post(cancelled);
+        return cancelled.value;
+    }
+}
@@ -0,0 +1,58 @@
+package net.typicartist.nebula.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import net.typicartist.nebula.EventBus;
+import net.typicartist.nebula.EventPriority;
+import net.typicartist.nebula.Subscriber;
+
+/**
+ * Cost of registering and unregistering one subscriber instance on a bus that already
+ * holds a number of subscribers of the same class.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegisterUnregisterBenchmark {
+
+    public static class Event {
+    }
+
+    public static class Listener {
+        int received;
+
+        @Subscriber(priority = EventPriority.HIGH)
+        public void onEvent(Event event) {
+            received++;
+        }
+
+        @Subscriber(priority = EventPriority.LOW)
+        public void onObject(Object event) {
+            received++;
+        }
+    }
+
+    @Param({ "0", "100", "1000", "10000" })
+    public int registered;
+
+    private EventBus bus;
+    private Listener listener;
+
+    @Setup
+    public void setUp() {
+        bus = new EventBus();
+        listener = new Listener();
+        for (int i = 0; i < registered; i++) bus.register(new Listener());
+    }
+
+    @Benchmark
+    public void registerAndUnregister() {
+        bus.register(listener);
+        bus.unregister(listener);
+    }
+}
@@ -0,0 +1,79 @@
+package net.typicartist.nebula.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import net.typicartist.nebula.EventBus;
+import net.typicartist.nebula.EventPriority;
+import net.typicartist.nebula.Subscriber;
+import net.typicartist.nebula.consumer.ConsumerFactories;
+import net.typicartist.nebula.consumer.IEventConsumer;
+
+/**
+ * Measures 100k registrations of instances of one subscriber class.
+ * <p>
+ * {@code cached} uses {@link EventBus#register(Object)}, which parses the class once.
+ * {@code reflective} repeats the full scan and consumer generation for every instance,
+ * the way registration worked before subscriber metadata was cached.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(RegistrationBenchmark.REGISTRATIONS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RegistrationBenchmark {
+    static final int REGISTRATIONS = 100_000;
+
+    public static class Event {
+    }
+
+    public static class Session {
+        int received;
+
+        @Subscriber(priority = EventPriority.HIGH)
+        public void onEvent(Event event) {
+            received++;
+        }
+
+        @Subscriber(priority = EventPriority.LOW)
+        public void onAnything(Object event) {
+            received++;
+        }
+    }
+
+    private EventBus bus;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        bus = new EventBus();
+    }
+
+    @Benchmark
+    public EventBus cached() {
+        for (int i = 0; i < REGISTRATIONS; i++) {
+            bus.register(new Session());
+        }
+        return bus;
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public EventBus reflective() throws IllegalAccessException {
+        for (int i = 0; i < REGISTRATIONS; i++) {
+            Session session = new Session();
+            for (Method method : Session.class.getDeclaredMethods()) {
+                Subscriber meta = method.getAnnotation(Subscriber.class);
+                if (meta == null) continue;
+
+                IEventConsumer<Object> consumer = ConsumerFactories.forMethod(method).bind(session);
+                bus.register((Class<Object>) method.getParameterTypes()[0], consumer, meta.priority(), meta.once());
+            }
+        }
+        return bus;
+    }
+}
@@ -0,0 +1,63 @@
+package net.typicartist.nebula.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import net.typicartist.nebula.EventBus;
+import net.typicartist.nebula.EventPriority;
+import net.typicartist.nebula.dispatch.RingBufferDispatcher;
+import net.typicartist.nebula.dispatch.WaitStrategy;
+
+/**
+ * Sustained throughput of the ring buffer dispatcher with a single consumer thread.
+ * The buffer is much smaller than one measurement iteration, so producers are throttled
+ * to the consumer rate and the score reflects end-to-end delivery, not buffering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RingBufferBenchmark {
+
+    public static class Event {
+    }
+
+    @Param({ "BUSY_SPIN", "YIELD", "PARK" })
+    public WaitStrategy waitStrategy;
+
+    @Param({ "65536" })
+    public int bufferSize;
+
+    private EventBus bus;
+    private RingBufferDispatcher dispatcher;
+    private Event event;
+    private long handled;
+
+    @Setup
+    public void setUp() {
+        bus = new EventBus();
+        bus.register(Event.class, e -> handled++, EventPriority.NORMAL, false);
+        dispatcher = new RingBufferDispatcher(bus, bufferSize, waitStrategy, 1);
+        event = new Event();
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void singleProducer() {
+        dispatcher.dispatch(event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void multiProducer() {
+        dispatcher.dispatch(event);
+    }
+}
@@ -0,0 +1,17 @@
+package net.typicartist.nebula;
+
+/**
+ * Strategy used by {@link IEventBus#postAsync(Object)} to hand an event to the bus executor.
+ */
+public enum AsyncMode {
+    /**
+     * One task runs the whole handler chain in priority order, honouring cancellation.
+     */
+    PER_EVENT,
+
+    /**
+     * Every handler runs as its own task, so slow handlers do not delay each other.
+     * Handlers run concurrently; cancellation only skips handlers that have not started yet.
+     */
+    PER_HANDLER
+}
@@ -0,0 +1,36 @@
+package net.typicartist.nebula;
+
+/**
+ * Wraps an event that was posted while no active handler of its class or any of its
+ * supertypes received it. A bus built with {@link EventBus.Builder#deadEvents(boolean)}
+ * posts it to the handlers registered for {@code DeadEvent}; a dead event nobody receives
+ * is not wrapped again.
+ */
+public final class DeadEvent {
+    private final IEventBus source;
+    private final Object event;
+
+    public DeadEvent(IEventBus source, Object event) {
+        this.source = source;
+        this.event = event;
+    }
+
+    /**
+     * @return the bus the event was posted to
+     */
+    public IEventBus getSource() {
+        return source;
+    }
+
+    /**
+     * @return the event nobody received
+     */
+    public Object getEvent() {
+        return event;
+    }
+
+    @Override
+    public String toString() {
+        return "DeadEvent[" + event + "]";
+    }
+}
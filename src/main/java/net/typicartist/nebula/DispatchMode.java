@@ -0,0 +1,31 @@
+package net.typicartist.nebula;
+
+/**
+ * Thread on which a handler is invoked when an event is posted.
+ */
+public enum DispatchMode {
+    /**
+     * Uses the dispatch mode configured on the bus.
+     */
+    DEFAULT,
+
+    /**
+     * Runs the handler on the thread dispatching the event, in priority order.
+     */
+    SYNC,
+
+    /**
+     * Runs every invocation of the handler on its own virtual thread, so blocking handlers
+     * do not stall the posting thread. Such handlers cannot cancel the event for later handlers.
+     */
+    VIRTUAL,
+
+    /**
+     * Queues the event in a mailbox of the subscriber object, shared by all of its handlers
+     * with this mode and drained on the bus executor. Events of one subscriber are handled
+     * one at a time and in posting order, while different subscribers run in parallel, so
+     * subscribers need no synchronization of their own. Such handlers cannot cancel the
+     * event for later handlers.
+     */
+    MAILBOX
+}
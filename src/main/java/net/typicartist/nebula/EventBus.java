@@ -1,64 +1,592 @@
 package net.typicartist.nebula;
 
-import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+import net.typicartist.nebula.consumer.ConsumerFactories;
+import net.typicartist.nebula.consumer.IBatchConsumer;
 import net.typicartist.nebula.consumer.IEventConsumer;
+import net.typicartist.nebula.dispatch.BatchingConsumer;
+import net.typicartist.nebula.dispatch.BoundedQueueConsumer;
+import net.typicartist.nebula.dispatch.ConflatingConsumer;
+import net.typicartist.nebula.dispatch.Mailbox;
+import net.typicartist.nebula.dispatch.OverflowCounters;
+import net.typicartist.nebula.dispatch.VirtualThreadConsumer;
 import net.typicartist.nebula.handler.IEventHandler;
+import net.typicartist.nebula.index.ISubscriberIndex;
+import net.typicartist.nebula.index.SubscriberIndexes;
+import net.typicartist.nebula.index.SubscriberMethod;
+import net.typicartist.nebula.jfr.FlightRecording;
+import net.typicartist.nebula.jfr.HandOffEvent;
+import net.typicartist.nebula.jfr.HandlerInvocationEvent;
+import net.typicartist.nebula.jfr.PostEvent;
+import net.typicartist.nebula.jfr.RegistrationEvent;
+import net.typicartist.nebula.metrics.EventMetrics;
+import net.typicartist.nebula.metrics.HandlerKey;
+import net.typicartist.nebula.metrics.IEventMetrics;
+import net.typicartist.nebula.metrics.ILatencyRecorder;
+import net.typicartist.nebula.watchdog.HandlerWatchdog;
 
 /**
  * A simple and extensible event bus implementation to register, unregister,
  * and post events to subscribers with prioritized event handling.
  * <p>
- * Supports synchronous event posting and prioritized event consumers.
+ * Supports synchronous and asynchronous event posting and prioritized event consumers.
  * Also supports one-time event listeners and cancellable events.
  * </p>
  * <p>
  * Subscribers can be registered by method annotations using {@link Subscriber}.
  * Event handlers can be registered manually by providing event type and consumer.
+ * </p>
+ * <p>
+ * Asynchronous posting is configured through {@link #builder()}.
+ * </p>
  */
 public class EventBus implements IEventBus {
-    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    /**
+     * Parsed subscriber metadata per subscriber class, shared by all buses. Registering
+     * further instances of a class only binds the cached consumer factories to them.
+     */
+    private static final ClassValue<SubscriberMethod[]> SUBSCRIBER_METHODS = new ClassValue<>() {
+        @Override
+        protected SubscriberMethod[] computeValue(Class<?> type) {
+            return findSubscriberMethods(type);
+        }
+    };
 
-    private final Map<Class<?>, Set<IEventHandler>> eventHandlers = new ConcurrentHashMap<>();
+    /**
+     * Orders the handlers of one event type by priority, then by registration.
+     */
+    private static final Comparator<IEventHandler> HANDLER_ORDER = (a, b) -> ((EventHandlerImpl) a).compareTo((EventHandlerImpl) b);
+    private static final Comparator<IEventHandler> PRIORITY_ORDER = Comparator.comparingInt(IEventHandler::getPriority).reversed();
+
+    private final Map<Class<?>, HandlerList> eventHandlers = new ConcurrentHashMap<>();
     private final Map<Class<?>, Set<Class<?>>> hierarchyCache = new ConcurrentHashMap<>();
+    private final Map<Class<?>, IEventHandler[]> dispatchCache = new ConcurrentHashMap<>();
+    /** Incremented under the registry lock after each change to the registered handlers. */
+    private volatile long registryVersion;
+    /** Handlers per subscriber identity (null for consumers); also serializes all registry writes. */
+    private final Map<Object, Set<IEventHandler>> subscriberHandlers = new IdentityHashMap<>();
+    /** Mailboxes of subscribers with {@link DispatchMode#MAILBOX} handlers, guarded like {@link #subscriberHandlers}. */
+    private final Map<Object, Mailbox> mailboxes = new IdentityHashMap<>();
+    /** Posts no active handler received, per concrete event class. */
+    private final Map<Class<?>, LongAdder> deadEventCounts = new ConcurrentHashMap<>();
+
+    private final Executor executor;
+    private final AsyncMode asyncMode;
+    private final DispatchMode dispatchMode;
+    private final int maxConcurrency;
+    private final int mailboxThroughput;
+    private final boolean parallelBands;
+    private final boolean deadEvents;
+    private final IEventMetrics metrics;
+    /** Post recorders per concrete event class, null when metrics are disabled. */
+    private final ClassValue<ILatencyRecorder> postRecorders;
+    private final HandlerWatchdog watchdog;
+    private final Path spillDirectory;
+    private final OverflowCounters overflowCounters = new OverflowCounters();
+    private final LongAdder conflatedCount = new LongAdder();
+
+    /**
+     * Creates an event bus posting asynchronous events to the common fork-join pool.
+     */
+    public EventBus() {
+        this(builder());
+    }
+
+    private EventBus(Builder builder) {
+        this.executor = builder.executor;
+        this.asyncMode = builder.asyncMode;
+        this.dispatchMode = builder.dispatchMode;
+        this.maxConcurrency = builder.maxConcurrency;
+        this.mailboxThroughput = builder.mailboxThroughput;
+        this.parallelBands = builder.parallelBands;
+        this.deadEvents = builder.deadEvents;
+        this.metrics = builder.metrics;
+        this.postRecorders = metrics == IEventMetrics.NONE ? null : new ClassValue<>() {
+            @Override
+            protected ILatencyRecorder computeValue(Class<?> type) {
+                return metrics.postRecorder(type);
+            }
+        };
+        this.watchdog = builder.watchdog;
+        this.spillDirectory = builder.spillDirectory;
+    }
+
+    /**
+     * Returns a builder for configuring an event bus.
+     * 
+     * @return a new builder with default settings
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the overflow counters shared by the queues of all handlers of this bus
+     * declaring a {@link Subscriber#queueCapacity()}.
+     * 
+     * @return the overflow counters of this bus
+     */
+    public OverflowCounters getOverflowCounters() {
+        return overflowCounters;
+    }
+
+    /**
+     * Returns the number of events the conflating handlers of this bus skipped because a
+     * newer event with the same key replaced them before delivery.
+     * 
+     * @return the number of conflated events over all handlers of this bus
+     */
+    public long getConflatedCount() {
+        return conflatedCount.sum();
+    }
+
+    /**
+     * Returns the number of posted events no active handler received, per concrete event
+     * class. Events without receivers are counted whether or not the bus posts
+     * {@link DeadEvent}s for them; dead events themselves are not counted.
+     * 
+     * @return a snapshot of the counts, containing only classes with dead events
+     */
+    public Map<Class<?>, Long> getDeadEventCounts() {
+        Map<Class<?>, Long> counts = new HashMap<>();
+        deadEventCounts.forEach((type, count) -> counts.put(type, count.sum()));
+        return counts;
+    }
 
     /**
      * Posts an event synchronously to all registered subscribers of the event's
      * class or its superclasses/interfaces, respecting the handler priority.
      * 
+     * Handlers of the whole hierarchy are invoked in one priority order; handlers
+     * with equal priority run in hierarchy order, most specific type first.
+     * 
      * If the event implements {@link ICancellable} and is cancelled by any handler,
      * further handlers will not be invoked.
      * 
+     * On a bus built with {@link Builder#parallelBands(boolean)}, handlers of equal
+     * priority run concurrently instead, see {@link #postParallel(Object, IEventHandler[])}.
+     * 
+     * While a flight recording is running, each post is recorded as a {@link PostEvent}
+     * and each handler invocation as a {@link HandlerInvocationEvent}; otherwise no
+     * flight recorder event is created.
+     * 
+     * An event no active handler receives is counted in {@link #getDeadEventCounts()}
+     * and, if the bus posts dead events, wrapped in a {@link DeadEvent} and posted again.
+     * 
      * @param <T> the event type
      * @param event the event instance to post
      */
     @Override
     public <T> void post(T event) {
-        Set<Class<?>> eventClasses = resolveHierarchy(event.getClass());
+        if (FlightRecording.isActive()) {
+            postRecorded(event);
+            return;
+        }
+        if (!dispatch(event, resolveHandlers(event.getClass()))) deadEvent(event);
+    }
+
+    private void postRecorded(Object event) {
+        PostEvent flight = new PostEvent();
+        flight.begin();
+
+        IEventHandler[] handlers = resolveHandlers(event.getClass());
+        boolean delivered;
+        try {
+            delivered = dispatch(event, handlers);
+        } finally {
+            flight.report(event.getClass(), handlers.length);
+        }
+        if (!delivered) deadEvent(event);
+    }
+
+    /**
+     * @return whether any handler received the event
+     */
+    private boolean dispatch(Object event, IEventHandler[] handlers) {
+        if (postRecorders != null) return postMeasured(event, handlers);
+        if (parallelBands) return postParallel(event, handlers);
+        return postSequential(event, handlers);
+    }
+
+    private boolean postSequential(Object event, IEventHandler[] handlers) {
+        boolean delivered = false;
+        for (IEventHandler handler : handlers) {
+            if (!handler.isActive()) continue;
+            // a once-handler runs only for the caller that manages to remove it
+            if (handler.isOnce() && !removeHandler(handler)) continue;
 
-        for (Class<?> type : eventClasses) {
-            Set<IEventHandler> handlers = eventHandlers.get(type);
-            if (handlers == null || handlers.isEmpty()) continue;
+            delivered = true;
+            handler.invoke(event);
 
+            if (event instanceof ICancellable cancellable &&  cancellable.isCancelled()) return true;
+        }
+        return delivered;
+    }
+
+    /**
+     * Counts an event no handler received and posts it as a {@link DeadEvent} if enabled.
+     */
+    private void deadEvent(Object event) {
+        if (event instanceof DeadEvent) return;
+
+        LongAdder count = deadEventCounts.get(event.getClass());
+        if (count == null) count = deadEventCounts.computeIfAbsent(event.getClass(), k -> new LongAdder());
+        count.increment();
+
+        if (deadEvents) post(new DeadEvent(this, event));
+    }
+    
+    /**
+     * Posts an event like {@link #post(Object)} while recording the dispatch time of the
+     * event class and the invocation times of synchronous handlers. Sequential handlers
+     * share their timestamps, one clock read per handler.
+     */
+    private boolean postMeasured(Object event, IEventHandler[] handlers) {
+        ILatencyRecorder recorder = postRecorders.get(event.getClass());
+        long start = System.nanoTime();
+
+        try {
+            if (parallelBands) return postParallel(event, handlers);
+
+            boolean delivered = false;
+            long last = start;
             for (IEventHandler handler : handlers) {
                 if (!handler.isActive()) continue;
+                if (handler.isOnce() && !removeHandler(handler)) continue;
+
+                delivered = true;
+                EventHandlerImpl impl = (EventHandlerImpl) handler;
+                impl.accept(event);
+                long now = System.nanoTime();
+                if (impl.recorder != null) impl.recorder.record(now - last);
+                last = now;
+
+                if (event instanceof ICancellable cancellable && cancellable.isCancelled()) return true;
+            }
+            return delivered;
+        } finally {
+            if (recorder != null) recorder.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Posts an event to its handlers band by band: handlers sharing a priority run
+     * concurrently, one of them on the calling thread and the others on the bus executor,
+     * and the next band starts once all of them have finished. Cancellation is checked
+     * between bands, so every handler of the band that cancels the event still runs.
+     * If handlers of a band throw, the first exception is rethrown once the band has
+     * finished and later bands are skipped.
+     */
+    private boolean postParallel(Object event, IEventHandler[] handlers) {
+        Consumer<IEventHandler> delivery = handler -> handler.invoke(event);
+        boolean delivered = false;
+        int start = 0;
+        while (start < handlers.length) {
+            int priority = handlers[start].getPriority();
+            int end = start + 1;
+            while (end < handlers.length && handlers[end].getPriority() == priority) end++;
+
+            delivered |= runBand(handlers, start, end, delivery);
+
+            if (event instanceof ICancellable cancellable && cancellable.isCancelled()) return delivered;
+            start = end;
+        }
+        return delivered;
+    }
+
+    /**
+     * @param delivery passes the events of the post to one handler of the band
+     * @return whether any handler of the band ran
+     */
+    private boolean runBand(IEventHandler[] handlers, int start, int end, Consumer<IEventHandler> delivery) {
+        IEventHandler local = null;
+        List<CompletableFuture<Void>> tasks = null;
+
+        for (int i = start; i < end; i++) {
+            IEventHandler handler = handlers[i];
+            if (!handler.isActive()) continue;
+            if (handler.isOnce() && !removeHandler(handler)) continue;
+
+            if (local == null) {
+                local = handler;
+                continue;
+            }
+            if (tasks == null) tasks = new ArrayList<>(end - i);
+            tasks.add(CompletableFuture.runAsync(() -> delivery.accept(handler), executor));
+        }
+        if (local == null) return false;
+
+        Throwable failure = null;
+        try {
+            delivery.accept(local);
+        } catch (Throwable t) {
+            failure = t;
+        }
+
+        if (tasks != null) {
+            for (CompletableFuture<Void> task : tasks) {
+                try {
+                    task.join();
+                } catch (CompletionException e) {
+                    if (failure == null) failure = e.getCause();
+                }
+            }
+        }
 
-                handler.invoke(event, () -> {
-                    if (handler.isOnce()) {
-                        Set<IEventHandler> set = eventHandlers.get(type);
-                        if (set != null) set.remove(handler);
+        if (failure instanceof RuntimeException e) throw e;
+        if (failure instanceof Error e) throw e;
+        if (failure != null) throw new CompletionException(failure);
+        return true;
+    }
+
+    /**
+     * Posts a batch of events synchronously, see {@link #postAll(Object[])}.
+     * 
+     * @param <T> the event type
+     * @param events the events to post, in order
+     */
+    @Override
+    public <T> void postAll(Iterable<? extends T> events) {
+        Object[] batch;
+        if (events instanceof Collection<?> collection) {
+            batch = collection.toArray();
+        } else {
+            List<Object> list = new ArrayList<>();
+            for (T event : events) list.add(event);
+            batch = list.toArray();
+        }
+        postAll(batch);
+    }
+
+    /**
+     * Posts a batch of events synchronously.
+     * 
+     * Consecutive events of the same concrete class form a run whose handler chain
+     * is resolved once. Within a run, each handler receives all events of the run
+     * before the next handler runs, which keeps the handler hot for the whole run.
+     * Every handler still sees the events in batch order, every event still visits the
+     * handlers in priority order, and an event cancelled by a handler is skipped by the
+     * handlers after it, as with {@link #post(Object)}.
+     * 
+     * On a bus built with {@link Builder#parallelBands(boolean)}, handlers of equal
+     * priority receive the run concurrently, each of them all events in order, and
+     * cancellation is checked between bands as for a single post.
+     * 
+     * With {@link Builder#metrics(IEventMetrics) metrics}, every handler invocation is
+     * measured as usual. Since the events of a run reach the handlers interleaved, each
+     * event of a run is recorded as one post lasting the average dispatch time of its run.
+     * 
+     * A handler throwing an exception aborts the rest of the batch.
+     * 
+     * @param <T> the event type
+     * @param events the events to post, in order
+     */
+    @Override
+    public <T> void postAll(T[] events) {
+        int start = 0;
+        while (start < events.length) {
+            Class<?> type = events[start].getClass();
+            int end = start + 1;
+            while (end < events.length && events[end].getClass() == type) end++;
+
+            IEventHandler[] handlers = resolveHandlers(type);
+            boolean cancellable = ICancellable.class.isAssignableFrom(type);
+            boolean delivered = postRecorders != null
+                    ? postRunMeasured(postRecorders.get(type), handlers, cancellable, events, start, end)
+                    : postRun(handlers, cancellable, events, start, end);
+            if (!delivered) {
+                for (int i = start; i < end; i++) deadEvent(events[i]);
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Posts a run like {@link #postRun}, recording each of its events as one post lasting
+     * the average dispatch time of the run.
+     * 
+     * @param recorder the post recorder of the event class of the run, null if not measured
+     */
+    private boolean postRunMeasured(ILatencyRecorder recorder, IEventHandler[] handlers, boolean cancellable,
+            Object[] events, int start, int end) {
+        long begin = System.nanoTime();
+        try {
+            return postRun(handlers, cancellable, events, start, end);
+        } finally {
+            if (recorder != null) {
+                long each = (System.nanoTime() - begin) / (end - start);
+                for (int i = start; i < end; i++) recorder.record(each);
+            }
+        }
+    }
+
+    /**
+     * @return whether any handler received events of the run
+     */
+    private boolean postRun(IEventHandler[] handlers, boolean cancellable, Object[] events, int start, int end) {
+        if (parallelBands) return postRunParallel(handlers, cancellable, events, start, end);
+
+        // as in post, cancellation is only checked after the first handler has run
+        boolean first = true;
+
+        for (IEventHandler handler : handlers) {
+            if (!handler.isActive()) continue;
+
+            if (handler.isOnce()) {
+                for (int i = start; i < end; i++) {
+                    if (!first && cancellable && ((ICancellable) events[i]).isCancelled()) continue;
+                    if (removeHandler(handler)) {
+                        handler.invoke(events[i]);
+                        first = false;
                     }
-                });
+                    break;
+                }
+                continue;
+            }
 
-                if (event instanceof ICancellable cancellable &&  cancellable.isCancelled()) return;
+            for (int i = start; i < end; i++) {
+                Object event = events[i];
+                if (!first && cancellable && ((ICancellable) event).isCancelled()) continue;
+                handler.invoke(event);
             }
+            first = false;
         }
+        return !first;
     }
-    
+
+    /**
+     * Posts a run of events band by band, as {@link #postParallel} posts a single event.
+     * Events cancelled by a band are skipped by the bands after it; within a band every
+     * handler sees the cancellations of the earlier bands only.
+     * 
+     * @return whether any handler received events of the run
+     */
+    private boolean postRunParallel(IEventHandler[] handlers, boolean cancellable, Object[] events, int start, int end) {
+        boolean delivered = false;
+        int from = 0;
+        while (from < handlers.length) {
+            int priority = handlers[from].getPriority();
+            int to = from + 1;
+            while (to < handlers.length && handlers[to].getPriority() == priority) to++;
+
+            boolean[] cancelled = cancellable && delivered ? cancellations(events, start, end) : null;
+            if (cancelled != null && allSet(cancelled)) return true;
+
+            delivered |= runBand(handlers, from, to, handler -> {
+                for (int i = start; i < end; i++) {
+                    if (cancelled != null && cancelled[i - start]) continue;
+                    handler.invoke(events[i]);
+                    if (handler.isOnce()) return;
+                }
+            });
+            from = to;
+        }
+        return delivered;
+    }
+
+    private static boolean[] cancellations(Object[] events, int start, int end) {
+        boolean[] cancelled = new boolean[end - start];
+        for (int i = start; i < end; i++) cancelled[i - start] = ((ICancellable) events[i]).isCancelled();
+        return cancelled;
+    }
+
+    private static boolean allSet(boolean[] flags) {
+        for (boolean flag : flags) {
+            if (!flag) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Posts an event asynchronously on the bus executor using the default {@link AsyncMode} of this bus.
+     * 
+     * @param <T> the event type
+     * @param event the event instance to post
+     * @return a future completed with the event once every handler has run
+     */
+    @Override
+    public <T> CompletableFuture<T> postAsync(T event) {
+        return postAsync(event, asyncMode);
+    }
+
+    /**
+     * Posts an event asynchronously on the bus executor.
+     * 
+     * The returned future completes with the event once dispatch has finished, or
+     * exceptionally with the first exception thrown by a handler.
+     * 
+     * If the executor rejects a task, the future completes exceptionally with the
+     * {@link RejectedExecutionException}. With {@link AsyncMode#PER_HANDLER}, the
+     * handlers submitted before the rejection still run and the future completes
+     * once they have finished; the remaining handlers are skipped.
+     * 
+     * A {@link AsyncMode#PER_EVENT} task on a bus built with
+     * {@link Builder#parallelBands(boolean)} waits on the executor for its bands, so
+     * on a bounded pool enough concurrent async posts can occupy every thread while
+     * their bands wait in the queue and deadlock.
+     * 
+     * @param <T> the event type
+     * @param event the event instance to post
+     * @param mode whether to run the handler chain as one task or each handler as its own task
+     * @return a future completed with the event once every handler has run
+     */
+    @Override
+    public <T> CompletableFuture<T> postAsync(T event, AsyncMode mode) {
+        try {
+            return switch (mode) {
+                case PER_EVENT -> CompletableFuture.supplyAsync(() -> {
+                    post(event);
+                    return event;
+                }, executor);
+                case PER_HANDLER -> fanOut(event);
+            };
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> CompletableFuture<T> fanOut(T event) {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        RejectedExecutionException rejected = null;
+
+        for (IEventHandler handler : resolveHandlers(event.getClass())) {
+            if (!handler.isActive()) continue;
+            if (handler.isOnce() && !removeHandler(handler)) continue;
+
+            try {
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    if (event instanceof ICancellable cancellable && cancellable.isCancelled()) return;
+                    handler.invoke(event);
+                }, executor));
+            } catch (RejectedExecutionException e) {
+                rejected = e;
+                break;
+            }
+        }
+        if (tasks.isEmpty() && rejected == null) deadEvent(event);
+
+        CompletableFuture<Void> all = CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]));
+        if (rejected == null) return all.thenApply(v -> event);
+
+        // complete only after the handlers already submitted have finished
+        RejectedExecutionException failure = rejected;
+        return all.handle((v, t) -> {
+            throw failure;
+        });
+    }
+
     /**
      * Registers an event consumer for a specific event type with given priority and once-flag.
      * 
@@ -67,30 +595,367 @@ public class EventBus implements IEventBus {
      * @param consumer the consumer callback to invoke when the event is posted
      * @param priority the priority of this handler relative to others (higher runs first)
      * @param once if true, the handler is automatically unregistered after first invocation
+     * @return a subscription removing or pausing exactly this handler
+     */
+    @Override
+    public <T> ISubscription register(Class<T> eventType, IEventConsumer<T> consumer, EventPriority priority, boolean once) {
+        return register(eventType, consumer, priority.getValue(), once);
+    }
+
+    /**
+     * Registers an event consumer for a specific event type with an exact integer priority.
+     * The {@link EventPriority} values mark points on the same scale, so handlers can be
+     * placed between them. Handler chains are ordered once per registration change, so
+     * fine-grained priorities cost nothing per post.
+     * 
+     * @param <T> the event type
+     * @param eventType the class of the event to listen for
+     * @param consumer the consumer callback to invoke when the event is posted
+     * @param priority the priority of this handler relative to others (higher runs first)
+     * @param once if true, the handler is automatically unregistered after first invocation
+     * @return a subscription removing or pausing exactly this handler
+     */
+    @Override
+    public <T> ISubscription register(Class<T> eventType, IEventConsumer<T> consumer, int priority, boolean once) {
+        SubscriberMethod method = SubscriberMethod.builder("accept", eventType)
+                .priority(priority)
+                .once(once)
+                .build();
+        return new HandlerSubscription(addHandler(null, method, consumer));
+    }
+
+    /**
+     * Registers an event consumer whose events are conflated by key. Events are delivered
+     * asynchronously on the bus executor, one at a time; while an event is pending, a newer
+     * event with the same key replaces it, so a consumer falling behind skips stale updates.
+     * Conflated consumers run after the posting thread has moved on, so they cannot cancel
+     * events for later handlers.
+     * 
+     * @param <T> the event type
+     * @param eventType the class of the event to listen for
+     * @param consumer the consumer callback to invoke with the latest event per key
+     * @param priority the priority of this handler relative to others (higher runs first)
+     * @param once if true, the handler is automatically unregistered after first invocation
+     * @param conflationKey extracts the key of an event
+     * @return a subscription removing or pausing exactly this handler
      */
     @Override
-    public <T> void register(Class<T> eventType, IEventConsumer<T> consumer, EventPriority priority, boolean once) {
-        addHandler(null, eventType, consumer, priority, once);
+    @SuppressWarnings("unchecked")
+    public <T> ISubscription register(Class<T> eventType, IEventConsumer<T> consumer, EventPriority priority, boolean once, Function<? super T, ?> conflationKey) {
+        Objects.requireNonNull(conflationKey, "conflationKey");
+        SubscriberMethod method = SubscriberMethod.builder("accept", eventType)
+                .priority(priority.getValue())
+                .once(once)
+                .conflationKey(event -> conflationKey.apply((T) event))
+                .build();
+        return new HandlerSubscription(addHandler(null, method, consumer));
+    }
+
+    /**
+     * Registers a batch consumer for a specific event type. Events are accumulated and
+     * handed over as a list once the batch is full or its first event is older than
+     * the maximum delay. A full batch is delivered by the posting thread that completed
+     * it, outside the handler chain's lock, unless another thread is still delivering a
+     * batch of the consumer and takes it over; a batch completed by the time bound is
+     * delivered on the bus executor. Either way batch consumers see events only after they
+     * have passed the other handlers, so they cannot cancel events for later handlers.
+     * A pending partial batch is delivered when the handler is removed.
+     * 
+     * @param <T> the event type
+     * @param eventType the class of the event to listen for
+     * @param consumer the consumer receiving batches of events
+     * @param priority the priority of this handler relative to others (higher runs first)
+     * @param maxBatchSize the number of events at which a batch is delivered
+     * @param maxBatchDelay the age of the first event at which a batch is delivered, zero for no time bound
+     * @return a subscription removing or pausing exactly this handler
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> ISubscription register(Class<T> eventType, IBatchConsumer<T> consumer, EventPriority priority, int maxBatchSize, Duration maxBatchDelay) {
+        SubscriberMethod method = SubscriberMethod.builder("accept", eventType)
+                .priority(priority.getValue())
+                .batch(true)
+                .maxBatchSize(maxBatchSize)
+                .maxBatchDelay(maxBatchDelay.toMillis())
+                .build();
+        IEventConsumer<Object> listConsumer = events -> consumer.accept((List<T>) events);
+        // reported under the class of the user's consumer, not of the adapting lambda
+        return new HandlerSubscription(addHandler(null, consumer.getClass(), method, listConsumer));
     }
 
+    private IEventHandler addHandler(Object subscriber, SubscriberMethod method, IEventConsumer<?> consumer) {
+        return addHandler(subscriber, subscriber != null ? subscriber.getClass() : consumer.getClass(), method, consumer);
+    }
+
+    /**
+     * @param owner the subscriber or consumer class reported by metrics, flight recorder events and the watchdog
+     */
+    private IEventHandler addHandler(Object subscriber, Class<?> owner, SubscriberMethod method, IEventConsumer<?> consumer) {
+        RegistrationEvent flight = new RegistrationEvent();
+        flight.begin();
+
+        EventHandlerImpl handler = newHandler(subscriber, owner, method, consumer);
+        synchronized (subscriberHandlers) {
+            publish(subscriber, List.of(handler));
+        }
+
+        handler.reportRegistration(flight);
+        return handler;
+    }
+
+    /**
+     * Builds the handler of a method with the decorators it asks for, without publishing it.
+     * 
+     * @param owner the subscriber or consumer class reported by metrics, flight recorder events and the watchdog
+     */
     @SuppressWarnings("unchecked")
-    private <T> void addHandler(Object subscriber, Class<T> type, IEventConsumer<T> consumer, EventPriority priority, boolean once) {
-        IEventHandler handler = new EventHandlerImpl(subscriber, (IEventConsumer<Object>) consumer, priority.getValue(), once);
-        eventHandlers.computeIfAbsent(type, k -> new ConcurrentSkipListSet<>()).add(handler);
+    private EventHandlerImpl newHandler(Object subscriber, Class<?> owner, SubscriberMethod method, IEventConsumer<?> consumer) {
+        Class<?> type = method.getEventType();
+        boolean deferred = isDeferred(method);
+        IEventConsumer<Object> target = (IEventConsumer<Object>) consumer;
+        ILatencyRecorder recorder = null;
+
+        if (metrics != IEventMetrics.NONE) {
+            recorder = metrics.handlerRecorder(new HandlerKey(owner, method.getName(), type));
+            // handlers running off the posting thread measure their actual run, innermost
+            if (recorder != null && (deferred || parallelBands)) {
+                target = measured(target, recorder);
+                recorder = null;
+            }
+        }
+        if (deferred) target = traced(target, owner, method);
+        if (watchdog != null) {
+            // only handlers running inline can be demoted to run elsewhere
+            target = watchdog.watch(target, new HandlerKey(owner, method.getName(), type), subscriber, deferred ? null : executor);
+        }
+
+        BatchingConsumer<Object> batching = null;
+        if (method.isBatch()) {
+            IEventConsumer<Object> listConsumer = target;
+            batching = new BatchingConsumer<>(listConsumer::accept, method.getMaxBatchSize(),
+                    TimeUnit.MILLISECONDS.toNanos(method.getMaxBatchDelay()), executor);
+            target = batching;
+        }
+
+        BoundedQueueConsumer<Object> queue = null;
+        if (method.getConflationKey() == null && method.getQueueCapacity() > 0) {
+            queue = new BoundedQueueConsumer<>(target, method.getQueueCapacity(), method.getOverflowPolicy(),
+                    executor, overflowCounters, spillDirectory);
+            target = queue;
+        }
+
+        target = decorate(target, method, subscriber);
+        return new EventHandlerImpl(subscriber, owner, method.getName(), type, target,
+                method.getPriority(), method.isOnce(), deferred, recorder, batching, queue);
+    }
+
+    /**
+     * Publishes new handlers of one subscriber, copying the handler array of each of their
+     * event types once. The caller holds the registry lock.
+     */
+    private void publish(Object subscriber, List<EventHandlerImpl> handlers) {
+        Map<Class<?>, List<IEventHandler>> byType = groupByType(handlers);
+        for (Map.Entry<Class<?>, List<IEventHandler>> entry : byType.entrySet()) {
+            eventHandlers.computeIfAbsent(entry.getKey(), k -> new HandlerList(HANDLER_ORDER)).addAll(entry.getValue());
+        }
+        subscriberHandlers.computeIfAbsent(subscriber, k -> new HashSet<>()).addAll(handlers);
+        invalidateDispatch(byType.keySet());
+    }
+
+    private static Map<Class<?>, List<IEventHandler>> groupByType(Collection<? extends IEventHandler> handlers) {
+        Map<Class<?>, List<IEventHandler>> byType = new HashMap<>();
+        for (IEventHandler handler : handlers) {
+            byType.computeIfAbsent(handler.getEventType(), k -> new ArrayList<>()).add(handler);
+        }
+        return byType;
+    }
+
+    private boolean removeHandler(IEventHandler handler) {
+        // once handlers are removed while posting, so nothing is allocated unless recording
+        RegistrationEvent flight = FlightRecording.isActive() ? new RegistrationEvent() : null;
+        if (flight != null) flight.begin();
+
+        HandlerList handlers = eventHandlers.get(handler.getEventType());
+        if (handlers == null || !handlers.remove(handler)) return false;
+
+        Mailbox mailbox = null;
+        synchronized (subscriberHandlers) {
+            Set<IEventHandler> owned = subscriberHandlers.get(handler.getSubscriber());
+            if (owned != null && owned.remove(handler) && owned.isEmpty()) {
+                subscriberHandlers.remove(handler.getSubscriber());
+                mailbox = mailboxes.get(handler.getSubscriber());
+            }
+            invalidateDispatch(Set.of(handler.getEventType()));
+        }
+        if (mailbox != null) retireMailbox(handler.getSubscriber(), mailbox);
+
+        if (flight != null) ((EventHandlerImpl) handler).reportRemoval(flight);
+        ((EventHandlerImpl) handler).release();
+        return true;
     }
     
     /**
      * Registers all methods annotated with {@link Subscriber} in the given subscriber object.
      * 
      * Methods must have a single parameter of the event type and return void.
+     * If a generated {@link ISubscriberIndex} exists for the subscriber class it is used
+     * instead of scanning the class reflectively. Either way the class is inspected only
+     * once; later registrations of the same class reuse the parsed metadata.
+     * 
+     * Posts read the handlers of a type without locking from an array that every
+     * registration copies, once per event type of the subscriber. Registering costs time
+     * linear in the number of handlers already registered for those types, so registering
+     * n subscribers of the same class one by one costs quadratic time in total.
      * 
      * @param subscriber the object containing subscriber methods
      */
-    @SuppressWarnings("unchecked")
     @Override
     public void register(Object subscriber) {
-        Class<?> clazz = subscriber.getClass();
-        
+        SubscriberMethod[] methods = SUBSCRIBER_METHODS.get(subscriber.getClass());
+        // an invalid method rejects the whole subscriber rather than registering it partially
+        for (SubscriberMethod method : methods) validate(method);
+
+        List<EventHandlerImpl> handlers = new ArrayList<>(methods.length);
+        List<RegistrationEvent> flights = new ArrayList<>(methods.length);
+        // a retiring mailbox of an earlier registration must not be dropped between
+        // handing it to the first handler and publishing the last one
+        synchronized (subscriberHandlers) {
+            for (SubscriberMethod method : methods) {
+                RegistrationEvent flight = new RegistrationEvent();
+                flight.begin();
+                flights.add(flight);
+                handlers.add(newHandler(subscriber, subscriber.getClass(), method, method.getFactory().bind(subscriber)));
+            }
+            publish(subscriber, handlers);
+        }
+
+        for (int i = 0; i < handlers.size(); i++) handlers.get(i).reportRegistration(flights.get(i));
+    }
+
+    /**
+     * Rejects decorator combinations that cannot work, before anything is posted to them.
+     */
+    private static void validate(SubscriberMethod method) {
+        if (method.getConflationKey() == null) return;
+
+        if (method.getQueueCapacity() > 0) {
+            throw new IllegalArgumentException("Conflated handler " + method.getName() + " cannot also declare a queueCapacity");
+        }
+        if (method.isConflatedByEventKey() && !EventKeys.hasKey(method.getEventType())) {
+            throw new IllegalArgumentException("Conflated handler " + method.getName() + " needs an @EventKey member on "
+                    + method.getEventType().getName());
+        }
+    }
+
+    /**
+     * Wraps the consumer of a handler, already batching or queueing if its method asks for
+     * it, in the conflation and dispatch decorators its method asks for.
+     */
+    private IEventConsumer<Object> decorate(IEventConsumer<Object> consumer, SubscriberMethod method, Object subscriber) {
+        if (method.getConflationKey() != null) {
+            consumer = new ConflatingConsumer<>(consumer, method.getConflationKey(), executor, conflatedCount);
+        }
+
+        return switch (resolveDispatchMode(method)) {
+            case VIRTUAL -> new VirtualThreadConsumer<>(consumer, method.getMaxConcurrency() > 0 ? method.getMaxConcurrency() : maxConcurrency);
+            case MAILBOX -> {
+                IEventConsumer<Object> target = consumer;
+                Mailbox mailbox = mailboxFor(subscriber);
+                yield event -> mailbox.execute(() -> target.accept(event));
+            }
+            default -> consumer;
+        };
+    }
+
+    private DispatchMode resolveDispatchMode(SubscriberMethod method) {
+        return method.getDispatchMode() == DispatchMode.DEFAULT ? dispatchMode : method.getDispatchMode();
+    }
+
+    /**
+     * Returns whether {@link #decorate} hands the events of a handler off to run later or elsewhere.
+     */
+    private boolean isDeferred(SubscriberMethod method) {
+        return method.isBatch() || method.getConflationKey() != null
+                || method.getQueueCapacity() > 0 || resolveDispatchMode(method) != DispatchMode.SYNC;
+    }
+
+    /**
+     * Wraps the innermost consumer of an asynchronous handler so that its invocations are
+     * recorded on the thread that actually runs them.
+     */
+    private static IEventConsumer<Object> traced(IEventConsumer<Object> consumer, Class<?> owner, SubscriberMethod method) {
+        String name = method.getName();
+        int priority = method.getPriority();
+        return event -> {
+            if (!FlightRecording.isActive()) {
+                consumer.accept(event);
+                return;
+            }
+
+            HandlerInvocationEvent flight = new HandlerInvocationEvent();
+            flight.begin();
+            try {
+                consumer.accept(event);
+            } finally {
+                flight.report(event.getClass(), owner, name, priority);
+            }
+        };
+    }
+
+    private static IEventConsumer<Object> measured(IEventConsumer<Object> consumer, ILatencyRecorder recorder) {
+        return event -> {
+            long start = System.nanoTime();
+            try {
+                consumer.accept(event);
+            } finally {
+                recorder.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Returns the mailbox shared by the handlers of a subscriber; every consumer
+     * registered without a subscriber gets a mailbox of its own.
+     */
+    private Mailbox mailboxFor(Object subscriber) {
+        if (subscriber == null) return new Mailbox(executor, mailboxThroughput);
+
+        synchronized (subscriberHandlers) {
+            return mailboxes.computeIfAbsent(subscriber, k -> new Mailbox(executor, mailboxThroughput));
+        }
+    }
+
+    /**
+     * Drops the mailbox of a subscriber without handlers once the events already queued
+     * in it have run. Until then a re-registered subscriber gets the same mailbox, so its
+     * new handlers neither overlap nor overtake the events of the old registration.
+     * A retire task with events queued behind it leaves the mailbox to the retire task of
+     * the unregistration that followed them.
+     */
+    private void retireMailbox(Object subscriber, Mailbox mailbox) {
+        Runnable retire = () -> {
+            synchronized (subscriberHandlers) {
+                if (!subscriberHandlers.containsKey(subscriber) && mailbox.isEmpty() && mailboxes.get(subscriber) == mailbox) {
+                    mailboxes.remove(subscriber);
+                }
+            }
+        };
+
+        try {
+            mailbox.execute(retire);
+        } catch (RejectedExecutionException e) {
+            retire.run();
+        }
+    }
+
+    private static SubscriberMethod[] findSubscriberMethods(Class<?> clazz) {
+        ISubscriberIndex index = SubscriberIndexes.find(clazz);
+        return index != null ? index.getSubscriberMethods() : scanSubscriberMethods(clazz);
+    }
+
+    private static SubscriberMethod[] scanSubscriberMethods(Class<?> clazz) {
+        List<SubscriberMethod> result = new ArrayList<>();
+
         for (Method method : clazz.getDeclaredMethods()) {
             if (!method.isAnnotationPresent(Subscriber.class)) continue;
             if (method.getParameterCount() != 1 || method.getReturnType() != void.class) {
@@ -98,41 +963,67 @@ public class EventBus implements IEventBus {
                 continue;
             }
 
-            Class<?> paramType = method.getParameterTypes()[0];
             Subscriber meta = method.getAnnotation(Subscriber.class);
-            EventPriority priority = meta.priority();
-            boolean once = meta.once();
-
-            method.setAccessible(true);
+            Class<?> paramType = meta.batch() ? resolveBatchType(method) : method.getParameterTypes()[0];
+            if (paramType == null) {
+                System.err.println("Invalid batch subscriber method signature: " + method);
+                continue;
+            }
 
             try {
-                MethodHandle handle = LOOKUP.unreflect(method).bindTo(subscriber);
-
-                IEventConsumer<Object> consumer = event -> {
-                    try {
-                        handle.invoke(event);
-                    } catch (Throwable t) {
-                        throw new RuntimeException("Error invoking event handler", t);
-                    }
-                };
-
-
-                addHandler(subscriber, (Class<Object>) paramType, consumer, priority, once);
+                result.add(SubscriberMethod.builder(method.getName(), paramType)
+                        .priority(meta.order() != Subscriber.DEFAULT_ORDER ? meta.order() : meta.priority().getValue())
+                        .once(meta.once())
+                        .dispatch(meta.dispatch())
+                        .maxConcurrency(meta.maxConcurrency())
+                        .batch(meta.batch())
+                        .maxBatchSize(meta.maxBatchSize())
+                        .maxBatchDelay(meta.maxBatchDelay())
+                        .conflate(meta.conflate())
+                        .queueCapacity(meta.queueCapacity())
+                        .overflow(meta.overflow())
+                        .factory(ConsumerFactories.forMethod(method))
+                        .build());
             } catch (IllegalAccessException e) {
                 e.printStackTrace();;
             }
         }
+
+        return result.toArray(new SubscriberMethod[0]);
     }
 
     /**
      * Unregisters all event handlers associated with the given subscriber object.
      * 
+     * Like registering, this copies the handler array of each event type of the
+     * subscriber once, in time linear in the number of handlers registered for it.
+     * 
      * @param subscriber the subscriber to unregister
      */
     @Override
     public void unregister(Object subscriber) {
-        for (Set<IEventHandler> handlers : eventHandlers.values()) {
-            handlers.removeIf(h -> h instanceof EventHandlerImpl impl && impl.matchesSubscriber(subscriber));
+        Set<IEventHandler> owned;
+        Mailbox mailbox;
+        synchronized (subscriberHandlers) {
+            owned = subscriberHandlers.remove(subscriber);
+            if (owned == null) return;
+            mailbox = mailboxes.get(subscriber);
+
+            Map<Class<?>, List<IEventHandler>> byType = groupByType(owned);
+            for (Map.Entry<Class<?>, List<IEventHandler>> entry : byType.entrySet()) {
+                HandlerList handlers = eventHandlers.get(entry.getKey());
+                if (handlers != null) handlers.removeAll(entry.getValue());
+            }
+            invalidateDispatch(byType.keySet());
+        }
+        if (mailbox != null) retireMailbox(subscriber, mailbox);
+
+        for (IEventHandler handler : owned) ((EventHandlerImpl) handler).release();
+        if (!FlightRecording.isActive() || !new RegistrationEvent().isEnabled()) return;
+        for (IEventHandler handler : owned) {
+            RegistrationEvent flight = new RegistrationEvent();
+            flight.begin();
+            ((EventHandlerImpl) handler).reportRemoval(flight);
         }
     }
 
@@ -157,15 +1048,31 @@ public class EventBus implements IEventBus {
     }
 
     private void setActive(Object subscriber, boolean active) {
-        for (Set<IEventHandler> handlers : eventHandlers.values()) {
-            for (IEventHandler handler : handlers) {
-                if (handler.getSubscriber() == subscriber) {
-                    handler.setActive(active);
-                }
+        synchronized (subscriberHandlers) {
+            Set<IEventHandler> owned = subscriberHandlers.get(subscriber);
+            if (owned == null) return;
+
+            for (IEventHandler handler : owned) {
+                handler.setActive(active);
             }
         }
     }
    
+    /**
+     * Resolves the event type of a batch subscriber method from its {@code List<E>} parameter.
+     * 
+     * @return the event type, or null if the parameter is not a list of a resolvable type
+     */
+    private static Class<?> resolveBatchType(Method method) {
+        if (method.getParameterTypes()[0] != List.class) return null;
+        if (!(method.getGenericParameterTypes()[0] instanceof ParameterizedType list)) return null;
+
+        Type element = list.getActualTypeArguments()[0];
+        if (element instanceof WildcardType wildcard) element = wildcard.getUpperBounds()[0];
+        if (element instanceof ParameterizedType parameterized) element = parameterized.getRawType();
+        return element instanceof Class<?> type ? type : null;
+    }
+
     /**
      * Returns whether there are any subscribers registered for the given event type.
      *
@@ -175,10 +1082,29 @@ public class EventBus implements IEventBus {
      */
     @Override
     public <T> boolean hasSubscribers(Class<T> eventType) {
-        Set<IEventHandler> handlers = eventHandlers.get(eventType);
+        HandlerList handlers = eventHandlers.get(eventType);
         return handlers != null && !handlers.isEmpty();
     }
 
+    /**
+     * Returns whether a posted event of the given class would reach any active handler,
+     * registered for the class itself or any of its supertypes. Unlike
+     * {@link #hasSubscribers(Class)}, this accounts for the whole hierarchy and for paused
+     * handlers, and reuses the precompiled handler chain, so producers can cheaply skip
+     * building events nobody receives.
+     * 
+     * @param <T> the event type
+     * @param eventType the concrete event class
+     * @return true if an event of the class has an active handler
+     */
+    @Override
+    public <T> boolean hasReceivers(Class<T> eventType) {
+        for (IEventHandler handler : resolveHandlers(eventType)) {
+            if (handler.isActive()) return true;
+        }
+        return false;
+    }
+
     /**
      * Returns the count of subscribers registered for the given event type.
      * 
@@ -188,8 +1114,8 @@ public class EventBus implements IEventBus {
      */
     @Override
     public <T> int countSubscribers(Class<T> eventType) {
-        Set<IEventHandler> handlers = eventHandlers.get(eventType);
-        return hasSubscribers(eventType) ? handlers.size() : 0;
+        HandlerList handlers = eventHandlers.get(eventType);
+        return handlers != null ? handlers.size() : 0;
     }
 
     /**
@@ -202,10 +1128,10 @@ public class EventBus implements IEventBus {
     @Override
     public <T> List<Object> getSubscribers(Class<T> eventType) {
         List<Object> result = new ArrayList<>();
-        Set<IEventHandler> handlers = eventHandlers.get(eventType);
+        HandlerList handlers = eventHandlers.get(eventType);
 
         if (handlers != null) {
-            for (IEventHandler handler : handlers) {
+            for (IEventHandler handler : handlers.snapshot()) {
                 if (handler.isActive()) {
                     result.add(handler.getSubscriber());
                 }
@@ -215,6 +1141,53 @@ public class EventBus implements IEventBus {
         return result;
     }
 
+    /**
+     * Returns the precompiled, priority-ordered handler chain for the given concrete
+     * event class, flattening the handlers of every type in its hierarchy.
+     * 
+     * @param clazz the concrete event class
+     * @return the cached handler chain, never modified after publication
+     */
+    private IEventHandler[] resolveHandlers(Class<?> clazz) {
+        IEventHandler[] handlers = dispatchCache.get(clazz);
+        if (handlers == null) {
+            long version = registryVersion;
+            handlers = dispatchCache.computeIfAbsent(clazz, this::compileHandlers);
+            // a change made while compiling may have missed the entry, so it must not outlive this post
+            if (registryVersion != version) dispatchCache.remove(clazz, handlers);
+        }
+        return handlers;
+    }
+
+    private IEventHandler[] compileHandlers(Class<?> clazz) {
+        List<IEventHandler> result = new ArrayList<>();
+        for (Class<?> type : resolveHierarchy(clazz)) {
+            HandlerList handlers = eventHandlers.get(type);
+            if (handlers != null) Collections.addAll(result, handlers.snapshot());
+        }
+        // List.sort is stable, so equal priorities keep hierarchy order, then registration order
+        result.sort(PRIORITY_ORDER);
+        return result.toArray(new IEventHandler[0]);
+    }
+
+    /**
+     * Drops the precompiled handler chains of the event classes that are subtypes of a
+     * changed type; they are rebuilt lazily on the next post. Chains of unrelated event
+     * classes stay cached. Must be called under the registry lock after each change to
+     * the registered handler sets.
+     * 
+     * @param types the event types whose handlers changed
+     */
+    private void invalidateDispatch(Collection<Class<?>> types) {
+        registryVersion++;
+        dispatchCache.keySet().removeIf(cached -> {
+            for (Class<?> type : types) {
+                if (type.isAssignableFrom(cached)) return true;
+            }
+            return false;
+        });
+    }
+
     /**
      * Resolves and caches the full class hierarchy (superclasses and interfaces)
      * for the given event class, to enable posting events to all relevant handlers.
@@ -236,19 +1209,233 @@ public class EventBus implements IEventBus {
         });
     }
 
+    /**
+     * Builder for {@link EventBus} instances.
+     */
+    public static final class Builder {
+        private Executor executor = ForkJoinPool.commonPool();
+        private AsyncMode asyncMode = AsyncMode.PER_EVENT;
+        private DispatchMode dispatchMode = DispatchMode.SYNC;
+        private int maxConcurrency;
+        private int mailboxThroughput = 64;
+        private boolean parallelBands;
+        private boolean deadEvents;
+        private IEventMetrics metrics = IEventMetrics.NONE;
+        private HandlerWatchdog watchdog;
+        private Path spillDirectory;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the executor running asynchronously posted events.
+         * 
+         * @param executor the executor, the common fork-join pool by default
+         * @return this builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        /**
+         * Sets the mode used by {@link EventBus#postAsync(Object)}.
+         * 
+         * @param asyncMode the default async mode, {@link AsyncMode#PER_EVENT} by default
+         * @return this builder
+         */
+        public Builder asyncMode(AsyncMode asyncMode) {
+            this.asyncMode = Objects.requireNonNull(asyncMode, "asyncMode");
+            return this;
+        }
+
+        /**
+         * Sets the dispatch mode of handlers that do not choose one themselves.
+         * 
+         * @param dispatchMode the default dispatch mode, {@link DispatchMode#SYNC} by default
+         * @return this builder
+         */
+        public Builder dispatchMode(DispatchMode dispatchMode) {
+            if (dispatchMode == DispatchMode.DEFAULT) throw new IllegalArgumentException("Bus dispatch mode must be explicit");
+            this.dispatchMode = Objects.requireNonNull(dispatchMode, "dispatchMode");
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of concurrent invocations of each {@link DispatchMode#VIRTUAL}
+         * handler that does not set its own bound. Posting to a handler at its bound
+         * waits until one of its invocations finishes.
+         * 
+         * @param maxConcurrency the bound, 0 (the default) for no bound
+         * @return this builder
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 0) throw new IllegalArgumentException("maxConcurrency must not be negative");
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Sets how many events a {@link DispatchMode#MAILBOX} subscriber handles before its
+         * mailbox yields the executor thread to other work.
+         * 
+         * @param mailboxThroughput the number of events, 64 by default
+         * @return this builder
+         */
+        public Builder mailboxThroughput(int mailboxThroughput) {
+            if (mailboxThroughput < 1) throw new IllegalArgumentException("mailboxThroughput must be positive");
+            this.mailboxThroughput = mailboxThroughput;
+            return this;
+        }
+
+        /**
+         * Sets whether {@link EventBus#post(Object)} and {@link EventBus#postAll(Object[])}
+         * run handlers of equal priority concurrently on the executor, waiting for each
+         * priority band to finish before the next one starts. This trades a task hand-off per handler for a latency of
+         * the slowest handler of each band instead of the sum of all handlers; handlers
+         * sharing a priority must then be safe to run concurrently.
+         * 
+         * The posting thread waits for its band on the executor, so do not combine this
+         * with {@link AsyncMode#PER_EVENT} async posts on a bounded executor: posts
+         * occupying every thread would wait for bands queued behind them.
+         * 
+         * @param parallelBands whether to run priority bands in parallel, false by default
+         * @return this builder
+         */
+        public Builder parallelBands(boolean parallelBands) {
+            this.parallelBands = parallelBands;
+            return this;
+        }
+
+        /**
+         * Sets whether events no active handler receives are wrapped in a {@link DeadEvent}
+         * and posted again, so that handlers of {@code DeadEvent} can log or count them.
+         * 
+         * @param deadEvents whether to post dead events, false by default
+         * @return this builder
+         */
+        public Builder deadEvents(boolean deadEvents) {
+            this.deadEvents = deadEvents;
+            return this;
+        }
+
+        /**
+         * Sets the metrics recording handler invocation times and post dispatch times,
+         * for example an {@link EventMetrics}. Recorders are resolved at registration
+         * and on the first post of each event class; without metrics nothing is measured.
+         * Events posted with {@link EventBus#postAll(Object[])} count as posts of the
+         * average dispatch time of their run.
+         * 
+         * @param metrics the metrics, {@link IEventMetrics#NONE} by default
+         * @return this builder
+         */
+        public Builder metrics(IEventMetrics metrics) {
+            this.metrics = Objects.requireNonNull(metrics, "metrics");
+            return this;
+        }
+
+        /**
+         * Sets the watchdog reporting handler invocations that exceed its latency budget,
+         * and demoting them if it is configured to. Handlers are watched from their
+         * registration on; the watchdog may be shared by several buses.
+         * 
+         * @param watchdog the watchdog, none by default
+         * @return this builder
+         */
+        public Builder watchdog(HandlerWatchdog watchdog) {
+            this.watchdog = Objects.requireNonNull(watchdog, "watchdog");
+            return this;
+        }
+
+        /**
+         * Sets the directory of the disk buffers of handler queues using {@link OverflowPolicy#SPILL}.
+         * 
+         * @param spillDirectory the directory, the default temporary directory if null
+         * @return this builder
+         */
+        public Builder spillDirectory(Path spillDirectory) {
+            this.spillDirectory = spillDirectory;
+            return this;
+        }
+
+        public EventBus build() {
+            return new EventBus(this);
+        }
+    }
+
+    /**
+     * Subscription bound to a single handler of this bus.
+     */
+    private final class HandlerSubscription implements ISubscription {
+        private final IEventHandler handler;
+
+        private HandlerSubscription(IEventHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void pause() {
+            handler.setActive(false);
+        }
+
+        @Override
+        public void resume() {
+            handler.setActive(true);
+        }
+
+        @Override
+        public boolean isActive() {
+            return handler.isActive();
+        }
+
+        @Override
+        public void close() {
+            removeHandler(handler);
+        }
+    }
+
     /**
      * Internal implementation of an event handler wrapping an event consumer.
-     * Supports activation state and one-time invocation semantics.
+     * Supports activation state and one-time invocation semantics; a one-time
+     * handler is removed by the bus right before its single invocation.
+     * <p>
+     * Handlers are totally ordered by descending priority, then by registration, so
+     * distinct handlers never compare equal and equal priorities run first-in first-out.
+     * </p>
      */
     private static class EventHandlerImpl implements IEventHandler, Comparable<EventHandlerImpl> {
+        private static final AtomicLong REGISTRATIONS = new AtomicLong();
+
+        private final long sequence = REGISTRATIONS.getAndIncrement();
         private final IEventConsumer<Object> consumer;
+        /** Records invocations of a synchronous handler, null if not measured here. */
+        private final ILatencyRecorder recorder;
+        /** Whether the consumer hands events off to run elsewhere rather than running them. */
+        private final boolean handOff;
+        /** Class of the subscriber or consumer and handler method name, as reported to the flight recorder. */
+        private final Class<?> owner;
+        private final String method;
+        private final Class<?> eventType;
         private final int priority;
         private final boolean once;
-        private boolean active = true;
+        private volatile boolean active = true;
         private final Object identity;
+        /** Batches the events of a batch handler, null for other handlers. */
+        private final BatchingConsumer<Object> batching;
+        /** Queues the events of a handler with a queue capacity, null for other handlers. */
+        private final BoundedQueueConsumer<Object> queue;
 
-        public EventHandlerImpl(Object subscriber, IEventConsumer<Object> consumer, int priority, boolean once) {
+        public EventHandlerImpl(Object subscriber, Class<?> owner, String method, Class<?> eventType, IEventConsumer<Object> consumer,
+                int priority, boolean once, boolean handOff, ILatencyRecorder recorder, BatchingConsumer<Object> batching,
+                BoundedQueueConsumer<Object> queue) {
+            this.batching = batching;
+            this.queue = queue;
             this.consumer = consumer;
+            this.recorder = recorder;
+            this.handOff = handOff;
+            this.owner = owner;
+            this.method = method;
+            this.eventType = eventType;
             this.priority = priority;
             this.once = once;
             this.identity = subscriber;
@@ -259,6 +1446,11 @@ public class EventBus implements IEventBus {
             return priority;
         }
 
+        @Override
+        public Class<?> getEventType() {
+            return eventType;
+        }
+
         @Override
         public boolean isOnce() {
             return once;
@@ -280,20 +1472,72 @@ public class EventBus implements IEventBus {
         }
         
         @Override
-        public void invoke(Object event, Runnable onRemove) {
-            consumer.accept(event);
-            if (once) onRemove.run();
+        public void invoke(Object event) {
+            if (recorder == null) {
+                accept(event);
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                accept(event);
+            } finally {
+                recorder.record(System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * Passes an event to the consumer, recording it as a handler invocation or,
+         * for asynchronous handlers, as a hand-off.
+         */
+        void accept(Object event) {
+            if (!FlightRecording.isActive()) {
+                consumer.accept(event);
+                return;
+            }
+
+            if (handOff) {
+                HandOffEvent flight = new HandOffEvent();
+                flight.begin();
+                try {
+                    consumer.accept(event);
+                } finally {
+                    flight.report(event.getClass(), owner, method, priority);
+                }
+                return;
+            }
+
+            HandlerInvocationEvent flight = new HandlerInvocationEvent();
+            flight.begin();
+            try {
+                consumer.accept(event);
+            } finally {
+                flight.report(event.getClass(), owner, method, priority);
+            }
+        }
+
+        /**
+         * Delivers the pending partial batch of a removed batch handler and discards the
+         * events still queued for a removed queued handler, deleting its disk buffer.
+         */
+        void release() {
+            if (batching != null) batching.flush();
+            if (queue != null) queue.close();
+        }
+
+        void reportRegistration(RegistrationEvent flight) {
+            flight.report(eventType, owner, method, priority, true);
         }
 
-        public boolean matchesSubscriber(Object obj) {
-            return identity == obj;
+        void reportRemoval(RegistrationEvent flight) {
+            flight.report(eventType, owner, method, priority, false);
         }
 
         @Override
         public int compareTo(EventHandlerImpl other) {
             int cmp = Integer.compare(other.priority, this.priority);
             if (cmp == 0) {
-                return Integer.compare(System.identityHashCode(this.identity), System.identityHashCode(other.identity));
+                return Long.compare(this.sequence, other.sequence);
             }
             return cmp;
         }
@@ -0,0 +1,16 @@
+package net.typicartist.nebula;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the field or no-argument method of an event class providing its business key,
+ * for example the symbol of a price update. Keys are used wherever the bus needs to
+ * tell related events apart, such as conflation.
+ */
+@Target(value = { ElementType.METHOD, ElementType.FIELD })
+@Retention(value = RetentionPolicy.RUNTIME)
+public @interface EventKey {
+}
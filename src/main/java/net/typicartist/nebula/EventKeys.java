@@ -0,0 +1,93 @@
+package net.typicartist.nebula;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Resolves the business key of events from their {@link EventKey} member.
+ */
+public final class EventKeys {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<MethodHandle> KEY_GETTERS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return findGetter(type);
+        }
+    };
+
+    private EventKeys() {
+    }
+
+    /**
+     * Returns whether events of the given class carry an {@link EventKey}.
+     * 
+     * @param eventType the event class
+     * @return true if the class or one of its supertypes declares a key member
+     */
+    public static boolean hasKey(Class<?> eventType) {
+        return KEY_GETTERS.get(eventType) != null;
+    }
+
+    /**
+     * Extracts the key of an event.
+     * 
+     * @param event the event
+     * @return the value of its {@link EventKey} member
+     * @throws IllegalArgumentException if the event class declares no key member
+     */
+    public static Object extract(Object event) {
+        MethodHandle getter = KEY_GETTERS.get(event.getClass());
+        if (getter == null) throw new IllegalArgumentException("No @EventKey member on " + event.getClass().getName());
+
+        try {
+            return getter.invokeExact(event);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Error reading event key of " + event.getClass().getName(), t);
+        }
+    }
+
+    private static MethodHandle findGetter(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            MethodHandle getter = findDeclaredGetter(current);
+            if (getter != null) return getter;
+
+            for (Class<?> iface : current.getInterfaces()) {
+                getter = KEY_GETTERS.get(iface);
+                if (getter != null) return getter;
+            }
+        }
+        return null;
+    }
+
+    private static MethodHandle findDeclaredGetter(Class<?> type) {
+        try {
+            for (Method method : type.getDeclaredMethods()) {
+                if (!method.isAnnotationPresent(EventKey.class)) continue;
+                if (method.getParameterCount() != 0 || method.getReturnType() == void.class || Modifier.isStatic(method.getModifiers())) {
+                    throw new IllegalArgumentException("@EventKey methods must be instance methods without parameters: " + method);
+                }
+
+                method.setAccessible(true);
+                return LOOKUP.unreflect(method).asType(GETTER_TYPE);
+            }
+
+            for (Field field : type.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(EventKey.class) || Modifier.isStatic(field.getModifiers())) continue;
+
+                field.setAccessible(true);
+                return LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access @EventKey member of " + type.getName(), e);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,210 @@
+package net.typicartist.nebula;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import net.typicartist.nebula.handler.IEventHandler;
+
+/**
+ * Read-optimized sorted set of the handlers of one event type.
+ * <p>
+ * Readers get an immutable array snapshot through a single volatile read, without
+ * locking or allocating. Writers are serialized and publish a new array on every
+ * change, which suits handler sets that are iterated far more often than modified.
+ * A handler is inserted after all handlers comparing equal to it, so equal handlers
+ * keep their registration order.
+ * </p>
+ * <p>
+ * Handlers are located by binary search, so with a total order a change costs one
+ * array copy, and {@link #addAll} and {@link #removeAll} apply several handlers with
+ * one copy. Copying keeps reads free, at the price of O(n) per change: registering or
+ * removing n handlers of one type one change at a time, for example n subscribers of
+ * the same class, is O(n<sup>2</sup>) copying. Types with very many handlers are better
+ * served by one handler fanning out to its own collection.
+ * </p>
+ */
+final class HandlerList {
+    private static final IEventHandler[] EMPTY = new IEventHandler[0];
+
+    private final Comparator<? super IEventHandler> order;
+    private volatile IEventHandler[] handlers = EMPTY;
+
+    HandlerList(Comparator<? super IEventHandler> order) {
+        this.order = order;
+    }
+
+    /**
+     * Returns the current handlers in order. The array must not be modified.
+     */
+    IEventHandler[] snapshot() {
+        return handlers;
+    }
+
+    int size() {
+        return handlers.length;
+    }
+
+    boolean isEmpty() {
+        return handlers.length == 0;
+    }
+
+    /**
+     * Adds a handler unless this exact handler is already present.
+     * 
+     * @return whether the handler was added
+     */
+    synchronized boolean add(IEventHandler handler) {
+        IEventHandler[] current = handlers;
+        if (indexOf(current, handler) >= 0) return false;
+
+        int index = insertionPoint(current, handler);
+        IEventHandler[] next = new IEventHandler[current.length + 1];
+        System.arraycopy(current, 0, next, 0, index);
+        next[index] = handler;
+        System.arraycopy(current, index, next, index + 1, current.length - index);
+        handlers = next;
+        return true;
+    }
+
+    /**
+     * Adds the handlers not already present, publishing one new array for all of them.
+     * Handlers comparing equal keep the order of the list, after the present ones.
+     * 
+     * @return whether any handler was added
+     */
+    synchronized boolean addAll(Collection<? extends IEventHandler> added) {
+        IEventHandler[] current = handlers;
+        List<IEventHandler> fresh = new ArrayList<>(added.size());
+        for (IEventHandler handler : added) {
+            if (indexOf(current, handler) < 0 && !containsSame(fresh, handler)) fresh.add(handler);
+        }
+        if (fresh.isEmpty()) return false;
+        // stable, so equal handlers keep their registration order
+        fresh.sort(order);
+
+        IEventHandler[] next = new IEventHandler[current.length + fresh.size()];
+        int copied = 0;
+        for (int j = 0; j < fresh.size(); j++) {
+            IEventHandler handler = fresh.get(j);
+            int index = insertionPoint(current, handler);
+            System.arraycopy(current, copied, next, copied + j, index - copied);
+            next[index + j] = handler;
+            copied = index;
+        }
+        System.arraycopy(current, copied, next, copied + fresh.size(), current.length - copied);
+        handlers = next;
+        return true;
+    }
+
+    /**
+     * Removes these exact handlers, publishing one new array for all of them.
+     * 
+     * @return whether any handler was present
+     */
+    synchronized boolean removeAll(Collection<? extends IEventHandler> removed) {
+        IEventHandler[] current = handlers;
+        int[] indexes = new int[removed.size()];
+        int count = 0;
+        for (IEventHandler handler : removed) {
+            int index = indexOf(current, handler);
+            if (index >= 0) indexes[count++] = index;
+        }
+        if (count == 0) return false;
+
+        Arrays.sort(indexes, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || indexes[distinct - 1] != indexes[i]) indexes[distinct++] = indexes[i];
+        }
+        if (distinct == current.length) {
+            handlers = EMPTY;
+            return true;
+        }
+
+        IEventHandler[] next = new IEventHandler[current.length - distinct];
+        int copied = 0;
+        for (int i = 0; i < distinct; i++) {
+            int index = indexes[i];
+            System.arraycopy(current, copied, next, copied - i, index - copied);
+            copied = index + 1;
+        }
+        System.arraycopy(current, copied, next, copied - distinct, current.length - copied);
+        handlers = next;
+        return true;
+    }
+
+    /**
+     * Removes this exact handler.
+     * 
+     * @return whether the handler was present
+     */
+    synchronized boolean remove(IEventHandler handler) {
+        IEventHandler[] current = handlers;
+        int index = indexOf(current, handler);
+        if (index < 0) return false;
+
+        if (current.length == 1) {
+            handlers = EMPTY;
+            return true;
+        }
+
+        IEventHandler[] next = new IEventHandler[current.length - 1];
+        System.arraycopy(current, 0, next, 0, index);
+        System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+        handlers = next;
+        return true;
+    }
+
+    /**
+     * Finds the index after the last handler not ordered after the given one.
+     */
+    private int insertionPoint(IEventHandler[] current, IEventHandler handler) {
+        int low = 0;
+        int high = current.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.compare(current[mid], handler) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Finds this exact handler among the handlers comparing equal to it.
+     */
+    private int indexOf(IEventHandler[] current, IEventHandler handler) {
+        int low = 0;
+        int high = current.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.compare(current[mid], handler) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        for (int i = low; i < current.length && order.compare(current[i], handler) == 0; i++) {
+            if (current[i] == handler) return i;
+        }
+        return -1;
+    }
+
+    private static boolean containsSame(List<IEventHandler> handlers, IEventHandler handler) {
+        for (IEventHandler present : handlers) {
+            if (present == handler) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(handlers);
+    }
+}
@@ -1,17 +1,29 @@
 package net.typicartist.nebula;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
+import net.typicartist.nebula.consumer.IBatchConsumer;
 import net.typicartist.nebula.consumer.IEventConsumer;
 
 public interface IEventBus {
     <T> void post(T event);
-    <T> void register(Class<T> eventType, IEventConsumer<T> consumer, EventPriority priority, boolean once);
+    <T> void postAll(Iterable<? extends T> events);
+    <T> void postAll(T[] events);
+    <T> CompletableFuture<T> postAsync(T event);
+    <T> CompletableFuture<T> postAsync(T event, AsyncMode mode);
+    <T> ISubscription register(Class<T> eventType, IEventConsumer<T> consumer, EventPriority priority, boolean once);
+    <T> ISubscription register(Class<T> eventType, IEventConsumer<T> consumer, int priority, boolean once);
+    <T> ISubscription register(Class<T> eventType, IEventConsumer<T> consumer, EventPriority priority, boolean once, Function<? super T, ?> conflationKey);
+    <T> ISubscription register(Class<T> eventType, IBatchConsumer<T> consumer, EventPriority priority, int maxBatchSize, Duration maxBatchDelay);
     void register(Object subscriber);
     void unregister(Object subscriber);
     void subscribe(Object subscriber);
     void unsubscribe(Object subscriber);
     <T> boolean hasSubscribers(Class<T> eventType);
+    <T> boolean hasReceivers(Class<T> eventType);
     <T> int countSubscribers(Class<T> eventType);
     <T> List<Object> getSubscribers(Class<T> eventType);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package net.typicartist.nebula;
+
+/**
+ * Handle to a single handler registered on an {@link IEventBus}.
+ * <p>
+ * Closing the subscription removes exactly that handler, independently of any
+ * other handler registered by the same subscriber or consumer.
+ * </p>
+ */
+public interface ISubscription extends AutoCloseable {
+    void pause();
+
+    void resume();
+
+    boolean isActive();
+
+    /**
+     * Removes the handler from the bus. Closing an already closed subscription,
+     * or a once-subscription that has already fired, has no effect.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,32 @@
+package net.typicartist.nebula;
+
+/**
+ * What a bounded event queue does with an event arriving while it is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * Blocks the posting thread until the queue has room for the event.
+     */
+    BLOCK,
+
+    /**
+     * Discards the arriving event.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Discards the oldest queued event to make room for the arriving one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Rejects the arriving event with a {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    FAIL,
+
+    /**
+     * Writes the arriving event to a local disk buffer, which is delivered once the queue
+     * has drained. Events must be {@link java.io.Serializable}.
+     */
+    SPILL
+}
@@ -8,6 +8,36 @@ import java.lang.annotation.Target;
 @Target(value = ElementType.METHOD)
 @Retention(value = RetentionPolicy.RUNTIME)
 public @interface Subscriber {
+    /** Value of {@link #order()} deferring to {@link #priority()}. */
+    int DEFAULT_ORDER = Integer.MIN_VALUE;
+
     EventPriority priority() default EventPriority.NORMAL;
+    /**
+     * Exact integer priority overriding {@link #priority()}, on the same scale as the
+     * {@link EventPriority} values (higher runs first).
+     */
+    int order() default DEFAULT_ORDER;
     boolean once() default false;
-}
\ No newline at end of file
+    DispatchMode dispatch() default DispatchMode.DEFAULT;
+    /** Maximum concurrent invocations of a {@link DispatchMode#VIRTUAL} handler, 0 for the bus default; posts wait at the bound. */
+    int maxConcurrency() default 0;
+    /** Whether the method takes a {@code List} of events delivered in batches. */
+    boolean batch() default false;
+    /** Number of events at which a pending batch is delivered. */
+    int maxBatchSize() default 100;
+    /** Milliseconds after its first event at which a pending batch is delivered, 0 to wait for a full batch. */
+    long maxBatchDelay() default 10;
+    /**
+     * Whether events are delivered asynchronously, keeping only the latest pending event per
+     * {@link EventKey}. The event type must declare a key, and conflated handlers take no
+     * {@link #queueCapacity()}; registration fails otherwise.
+     */
+    boolean conflate() default false;
+    /**
+     * Capacity of a queue delivering events asynchronously, 0 to deliver them without a queue.
+     * Events still queued when the handler is removed are discarded.
+     */
+    int queueCapacity() default 0;
+    /** What the queue of a handler with a {@link #queueCapacity()} does when it is full. */
+    OverflowPolicy overflow() default OverflowPolicy.BLOCK;
+}
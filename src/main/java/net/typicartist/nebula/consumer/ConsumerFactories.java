@@ -0,0 +1,129 @@
+package net.typicartist.nebula.consumer;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * Factories turning {@link net.typicartist.nebula.Subscriber} methods into {@link IEventConsumer}s.
+ * <p>
+ * The preferred strategy spins a dedicated consumer class per method through
+ * {@link LambdaMetafactory}, so the call into the subscriber is a plain virtual call
+ * the JIT can inline. When that is not possible, for example when the subscriber class
+ * lives in another module or class loader, a bound {@link MethodHandle} is used instead.
+ * </p>
+ */
+public final class ConsumerFactories {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType ACCEPT_TYPE = MethodType.methodType(void.class, Object.class);
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(IEventConsumer.class, Object.class);
+
+    private ConsumerFactories() {
+    }
+
+    /**
+     * Returns the fastest available consumer factory for the given subscriber method.
+     * 
+     * @param method an instance method taking exactly one event parameter
+     * @return a factory binding the method to subscriber instances
+     * @throws IllegalAccessException if the method cannot be accessed by any strategy
+     */
+    public static IConsumerFactory forMethod(Method method) throws IllegalAccessException {
+        try {
+            return lambda(method);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return methodHandle(method);
+        }
+    }
+
+    /**
+     * Creates a factory whose consumers are generated by {@link LambdaMetafactory} and call
+     * the subscriber method directly. Unchecked exceptions thrown by the method propagate
+     * unchanged; if the method declares checked exceptions, those are wrapped in a
+     * {@link RuntimeException} as with {@link #methodHandle(Method)}.
+     * 
+     * @param method an instance method taking exactly one event parameter
+     * @return a factory binding the method to subscriber instances
+     * @throws ReflectiveOperationException if the lambda class cannot be spun for the method
+     */
+    @SuppressWarnings("unchecked")
+    public static IConsumerFactory lambda(Method method) throws ReflectiveOperationException {
+        Class<?> owner = method.getDeclaringClass();
+        MethodHandles.Lookup caller = MethodHandles.privateLookupIn(owner, LOOKUP);
+        MethodHandle target = caller.unreflect(method);
+
+        CallSite site;
+        try {
+            site = LambdaMetafactory.metafactory(
+                    caller,
+                    "accept",
+                    MethodType.methodType(IEventConsumer.class, owner),
+                    ACCEPT_TYPE,
+                    target,
+                    MethodType.methodType(void.class, method.getParameterTypes()[0]));
+        } catch (Exception e) {
+            throw new ReflectiveOperationException("Cannot generate consumer for " + method, e);
+        }
+
+        MethodHandle factory = site.getTarget().asType(FACTORY_TYPE);
+        boolean wrapChecked = declaresCheckedException(method);
+        return subscriber -> {
+            IEventConsumer<Object> consumer;
+            try {
+                consumer = (IEventConsumer<Object>) factory.invokeExact(subscriber);
+            } catch (Throwable t) {
+                throw new IllegalStateException("Cannot bind consumer for " + method, t);
+            }
+            return wrapChecked ? wrapChecked(consumer) : consumer;
+        };
+    }
+
+    private static boolean declaresCheckedException(Method method) {
+        for (Class<?> type : method.getExceptionTypes()) {
+            if (!RuntimeException.class.isAssignableFrom(type) && !Error.class.isAssignableFrom(type)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * The generated consumer rethrows whatever the method throws, checked exceptions included.
+     */
+    private static IEventConsumer<Object> wrapChecked(IEventConsumer<Object> consumer) {
+        return event -> {
+            try {
+                consumer.accept(event);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException("Error invoking event handler", t);
+            }
+        };
+    }
+
+    /**
+     * Creates a factory whose consumers invoke the subscriber method through a bound
+     * {@link MethodHandle}. Exceptions thrown by the method are wrapped in a {@link RuntimeException}.
+     * 
+     * @param method an instance method taking exactly one event parameter
+     * @return a factory binding the method to subscriber instances
+     * @throws IllegalAccessException if the method cannot be made accessible
+     */
+    public static IConsumerFactory methodHandle(Method method) throws IllegalAccessException {
+        method.setAccessible(true);
+        MethodHandle unbound = LOOKUP.unreflect(method);
+
+        return subscriber -> {
+            MethodHandle handle = unbound.bindTo(subscriber);
+            return event -> {
+                try {
+                    handle.invoke(event);
+                } catch (Throwable t) {
+                    throw new RuntimeException("Error invoking event handler", t);
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,8 @@
+package net.typicartist.nebula.consumer;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface IBatchConsumer<T> {
+    void accept(List<T> events);
+}
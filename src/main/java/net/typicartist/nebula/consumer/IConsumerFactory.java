@@ -0,0 +1,9 @@
+package net.typicartist.nebula.consumer;
+
+/**
+ * Creates event consumers for one subscriber method, bound to a given subscriber instance.
+ */
+@FunctionalInterface
+public interface IConsumerFactory {
+    IEventConsumer<Object> bind(Object subscriber);
+}
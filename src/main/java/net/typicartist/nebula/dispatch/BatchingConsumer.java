@@ -0,0 +1,146 @@
+package net.typicartist.nebula.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import net.typicartist.nebula.consumer.IBatchConsumer;
+import net.typicartist.nebula.consumer.IEventConsumer;
+
+/**
+ * Consumer decorator accumulating events and handing them to a batch consumer.
+ * <p>
+ * A pending batch is delivered as soon as it reaches its maximum size, or on the given
+ * executor once its first event is older than the maximum delay. Batches are delivered
+ * one at a time and in order, outside the lock guarding the pending batch: a full batch
+ * is delivered on the posting thread that completed it, unless another thread is still
+ * delivering, in which case that thread also delivers the new batch and the poster
+ * moves on. Exceptions thrown by the batch consumer go to the uncaught exception
+ * handler of the delivering thread.
+ * </p>
+ * 
+ * @param <T> the event type
+ */
+public final class BatchingConsumer<T> implements IEventConsumer<T> {
+    private static final ScheduledExecutorService TIMER = createTimer();
+
+    private final IBatchConsumer<T> delegate;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Executor executor;
+    /** Completed batches in order, delivered one at a time by whichever thread claims {@link #delivering}. */
+    private final Queue<List<T>> ready = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean delivering = new AtomicBoolean();
+
+    private List<T> pending;
+    private ScheduledFuture<?> timeout;
+
+    /**
+     * @param delegate the consumer receiving the batches
+     * @param maxBatchSize the number of events at which a batch is delivered
+     * @param maxDelayNanos the age of the first event at which a batch is delivered, 0 for no time bound
+     * @param executor the executor delivering batches completed by the time bound
+     */
+    public BatchingConsumer(IBatchConsumer<T> delegate, int maxBatchSize, long maxDelayNanos, Executor executor) {
+        if (maxBatchSize < 1) throw new IllegalArgumentException("maxBatchSize must be positive");
+        if (maxDelayNanos < 0) throw new IllegalArgumentException("maxDelay must not be negative");
+
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelayNanos;
+        this.executor = executor;
+    }
+
+    @Override
+    public void accept(T event) {
+        synchronized (this) {
+            if (pending == null) {
+                List<T> fresh = new ArrayList<>(Math.min(maxBatchSize, 1024));
+                pending = fresh;
+                if (maxDelayNanos > 0) {
+                    timeout = TIMER.schedule(() -> flushLater(fresh), maxDelayNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            pending.add(event);
+            if (pending.size() < maxBatchSize) return;
+
+            // queued while locked so that batches keep their order
+            ready.add(take());
+        }
+        deliver();
+    }
+
+    /**
+     * Delivers the pending batch, if any, on the calling thread unless another thread is
+     * delivering a batch, which then delivers this one as well.
+     */
+    public void flush() {
+        synchronized (this) {
+            if (pending == null) return;
+            ready.add(take());
+        }
+        deliver();
+    }
+
+    private void deliver() {
+        // re-checked after releasing the claim, a batch may have been queued meanwhile
+        while (!ready.isEmpty() && delivering.compareAndSet(false, true)) {
+            try {
+                List<T> batch;
+                while ((batch = ready.poll()) != null) {
+                    try {
+                        delegate.accept(batch);
+                    } catch (Throwable t) {
+                        Thread thread = Thread.currentThread();
+                        thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+                    }
+                }
+            } finally {
+                delivering.set(false);
+            }
+        }
+    }
+
+    private List<T> take() {
+        List<T> batch = pending;
+        pending = null;
+        if (timeout != null) {
+            timeout.cancel(false);
+            timeout = null;
+        }
+        return batch;
+    }
+
+    private void flushLater(List<T> batch) {
+        try {
+            executor.execute(() -> flushIfPending(batch));
+        } catch (RejectedExecutionException e) {
+            flushIfPending(batch);
+        }
+    }
+
+    private void flushIfPending(List<T> batch) {
+        synchronized (this) {
+            // the batch may already have been delivered because it filled up
+            if (pending != batch) return;
+            ready.add(take());
+        }
+        deliver();
+    }
+
+    private static ScheduledExecutorService createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1,
+                Thread.ofPlatform().daemon().name("nebula-batch-timer").factory());
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+}
@@ -0,0 +1,94 @@
+package net.typicartist.nebula.dispatch;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import net.typicartist.nebula.IEventBus;
+import net.typicartist.nebula.OverflowPolicy;
+
+/**
+ * Asynchronous dispatcher posting events to a bus through a queue of bounded capacity.
+ * <p>
+ * Unlike handing events straight to an executor, the memory held by events waiting for
+ * delivery is bounded; the {@link OverflowPolicy} decides what happens to events
+ * arriving while the queue is full. Events are posted one at a time and in order on
+ * the given executor.
+ * </p>
+ * 
+ * @see BoundedQueueConsumer
+ */
+public final class BoundedDispatcher implements IEventDispatcher {
+    private final BoundedQueueConsumer<Object> queue;
+    private volatile boolean running = true;
+
+    /**
+     * @param bus the bus events are posted to
+     * @param capacity the maximum number of events held in memory
+     * @param policy what to do with events arriving while the queue is full
+     * @param executor the executor posting events
+     */
+    public BoundedDispatcher(IEventBus bus, int capacity, OverflowPolicy policy, Executor executor) {
+        this(bus, capacity, policy, executor, null);
+    }
+
+    /**
+     * @param bus the bus events are posted to
+     * @param capacity the maximum number of events held in memory
+     * @param policy what to do with events arriving while the queue is full
+     * @param executor the executor posting events
+     * @param spillDirectory the directory of the disk buffer, null for the default temporary directory
+     */
+    public BoundedDispatcher(IEventBus bus, int capacity, OverflowPolicy policy, Executor executor, Path spillDirectory) {
+        Objects.requireNonNull(bus, "bus");
+        this.queue = new BoundedQueueConsumer<>(bus::post, capacity, policy, executor, new OverflowCounters(), spillDirectory);
+    }
+
+    /**
+     * Queues an event for delivery, applying the overflow policy if the queue is full.
+     * 
+     * @param <T> the event type
+     * @param event the event to deliver
+     * @throws IllegalStateException if the dispatcher has been closed
+     * @throws RejectedExecutionException if the event is rejected by {@link OverflowPolicy#FAIL}
+     */
+    @Override
+    public <T> void dispatch(T event) {
+        Objects.requireNonNull(event, "event");
+        if (!running) throw new IllegalStateException("Dispatcher is closed");
+
+        queue.accept(event);
+    }
+
+    /**
+     * Returns the number of events waiting for delivery, in memory and on disk.
+     * 
+     * @return the backlog
+     */
+    public int getBacklog() {
+        return queue.size();
+    }
+
+    /**
+     * @return the overflow counters of this dispatcher
+     */
+    public OverflowCounters getCounters() {
+        return queue.getCounters();
+    }
+
+    /**
+     * Stops accepting events and waits until the events already queued have been delivered.
+     */
+    @Override
+    public void close() {
+        running = false;
+
+        try {
+            queue.awaitIdle();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        queue.close();
+    }
+}
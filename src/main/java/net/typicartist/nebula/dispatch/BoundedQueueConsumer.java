@@ -0,0 +1,224 @@
+package net.typicartist.nebula.dispatch;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import net.typicartist.nebula.OverflowPolicy;
+import net.typicartist.nebula.consumer.IEventConsumer;
+
+/**
+ * Consumer decorator delivering events asynchronously through a queue of bounded capacity.
+ * <p>
+ * Events are delivered one at a time and in order on the given executor. When the queue
+ * is full, the {@link OverflowPolicy} decides what happens to the arriving event. With
+ * {@link OverflowPolicy#SPILL}, overflowing events go to a local disk buffer and every
+ * later event follows them there until the buffer has been delivered, which keeps the
+ * delivery order.
+ * </p>
+ * <p>
+ * With {@link OverflowPolicy#BLOCK}, posting threads must not be threads of the delivering
+ * executor that it needs to make progress.
+ * </p>
+ * 
+ * @param <T> the event type
+ */
+public final class BoundedQueueConsumer<T> implements IEventConsumer<T>, AutoCloseable {
+    private static final int MAX_EVENTS_PER_DRAIN = 256;
+
+    private final IEventConsumer<T> delegate;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final Executor executor;
+    private final OverflowCounters counters;
+    private final ArrayDeque<Object> queue;
+    private final SpillFile spill;
+
+    private boolean scheduled;
+    private boolean closed;
+    private int waiting;
+
+    /**
+     * @param delegate the consumer receiving the events
+     * @param capacity the maximum number of events held in memory
+     * @param policy what to do with events arriving while the queue is full
+     * @param executor the executor delivering events
+     */
+    public BoundedQueueConsumer(IEventConsumer<T> delegate, int capacity, OverflowPolicy policy, Executor executor) {
+        this(delegate, capacity, policy, executor, new OverflowCounters(), null);
+    }
+
+    /**
+     * @param delegate the consumer receiving the events
+     * @param capacity the maximum number of events held in memory
+     * @param policy what to do with events arriving while the queue is full
+     * @param executor the executor delivering events
+     * @param counters the counters to record overflows in, possibly shared with other queues
+     * @param spillDirectory the directory of the disk buffer, null for the default temporary directory
+     */
+    public BoundedQueueConsumer(IEventConsumer<T> delegate, int capacity, OverflowPolicy policy, Executor executor,
+            OverflowCounters counters, Path spillDirectory) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive");
+
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.capacity = capacity;
+        this.policy = Objects.requireNonNull(policy, "policy");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.counters = Objects.requireNonNull(counters, "counters");
+        this.queue = new ArrayDeque<>(Math.min(capacity, 1024));
+        this.spill = policy == OverflowPolicy.SPILL ? new SpillFile(spillDirectory) : null;
+    }
+
+    @Override
+    public void accept(T event) {
+        synchronized (queue) {
+            if (!offer(event) || scheduled) return;
+            scheduled = true;
+        }
+        schedule();
+    }
+
+    /**
+     * Queues an event according to the overflow policy.
+     * 
+     * @return whether the event was queued
+     */
+    private boolean offer(T event) {
+        if (closed) return false;
+        if (spill != null && !spill.isEmpty()) {
+            spillEvent(event);
+            return true;
+        }
+
+        if (queue.size() < capacity) {
+            queue.add(event);
+            return true;
+        }
+
+        switch (policy) {
+            case BLOCK -> {
+                counters.blocked.increment();
+                waiting++;
+                try {
+                    while (queue.size() >= capacity && !closed) queue.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted while waiting for queue space", e);
+                } finally {
+                    waiting--;
+                }
+                if (closed) return false;
+                queue.add(event);
+                return true;
+            }
+            case DROP_NEWEST -> {
+                counters.dropped.increment();
+                return false;
+            }
+            case DROP_OLDEST -> {
+                counters.dropped.increment();
+                queue.poll();
+                queue.add(event);
+                return true;
+            }
+            case FAIL -> {
+                counters.rejected.increment();
+                throw new RejectedExecutionException("Event queue is full (capacity " + capacity + ")");
+            }
+            case SPILL -> {
+                spillEvent(event);
+                return true;
+            }
+            default -> throw new IllegalStateException("Unknown overflow policy " + policy);
+        }
+    }
+
+    private void spillEvent(T event) {
+        spill.append(event);
+        counters.spilled.increment();
+    }
+
+    /**
+     * Returns the number of events waiting for delivery, in memory and on disk.
+     * 
+     * @return the backlog
+     */
+    public int size() {
+        synchronized (queue) {
+            return queue.size() + (spill != null ? spill.size() : 0);
+        }
+    }
+
+    /**
+     * @return the counters this queue records overflows in
+     */
+    public OverflowCounters getCounters() {
+        return counters;
+    }
+
+    /**
+     * Waits until every queued event has been delivered.
+     * 
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitIdle() throws InterruptedException {
+        synchronized (queue) {
+            while (scheduled) queue.wait();
+        }
+    }
+
+    /**
+     * Discards the events still waiting for delivery and deletes the disk buffer. Events
+     * accepted afterwards are discarded as well; an event being delivered still completes.
+     */
+    @Override
+    public void close() {
+        synchronized (queue) {
+            closed = true;
+            queue.clear();
+            if (spill != null) spill.close();
+            queue.notifyAll();
+        }
+    }
+
+    private void schedule() {
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            synchronized (queue) {
+                scheduled = false;
+            }
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drain() {
+        for (int i = 0; i < MAX_EVENTS_PER_DRAIN; i++) {
+            Object event;
+            try {
+                synchronized (queue) {
+                    event = queue.poll();
+                    // the disk buffer only fills up behind a full queue, so it is next in line
+                    if (event == null && spill != null) event = spill.poll();
+                    if (event == null) {
+                        scheduled = false;
+                        queue.notifyAll();
+                        return;
+                    }
+                    if (waiting > 0) queue.notifyAll();
+                }
+
+                delegate.accept((T) event);
+            } catch (Throwable t) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+            }
+        }
+
+        // give other tasks of the executor a turn before delivering the rest
+        schedule();
+    }
+}
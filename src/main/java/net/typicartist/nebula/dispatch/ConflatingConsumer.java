@@ -0,0 +1,113 @@
+package net.typicartist.nebula.dispatch;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import net.typicartist.nebula.consumer.IEventConsumer;
+
+/**
+ * Consumer decorator delivering events asynchronously while conflating them by key.
+ * <p>
+ * Events wait in a queue with at most one entry per key. An event whose key already has
+ * a pending event replaces it in place, so a consumer that falls behind only sees the
+ * latest event per key instead of building up a backlog. Events are delivered one at a
+ * time, in the order their keys were first queued, on the given executor.
+ * </p>
+ * 
+ * @param <T> the event type
+ */
+public final class ConflatingConsumer<T> implements IEventConsumer<T> {
+    private static final int MAX_EVENTS_PER_DRAIN = 256;
+
+    private final IEventConsumer<T> delegate;
+    private final Function<? super T, ?> keyExtractor;
+    private final Executor executor;
+    private final Map<Object, T> pending = new LinkedHashMap<>();
+    private final LongAdder conflated;
+    private boolean scheduled;
+
+    /**
+     * @param delegate the consumer receiving the latest event per key
+     * @param keyExtractor extracts the conflation key of an event
+     * @param executor the executor delivering events
+     */
+    public ConflatingConsumer(IEventConsumer<T> delegate, Function<? super T, ?> keyExtractor, Executor executor) {
+        this(delegate, keyExtractor, executor, new LongAdder());
+    }
+
+    /**
+     * @param delegate the consumer receiving the latest event per key
+     * @param keyExtractor extracts the conflation key of an event
+     * @param executor the executor delivering events
+     * @param conflated the counter of replaced events, possibly shared with other consumers
+     */
+    public ConflatingConsumer(IEventConsumer<T> delegate, Function<? super T, ?> keyExtractor, Executor executor, LongAdder conflated) {
+        this.delegate = delegate;
+        this.keyExtractor = keyExtractor;
+        this.executor = executor;
+        this.conflated = conflated;
+    }
+
+    @Override
+    public void accept(T event) {
+        Object key = keyExtractor.apply(event);
+
+        synchronized (pending) {
+            if (pending.put(key, event) != null) conflated.increment();
+            if (scheduled) return;
+            scheduled = true;
+        }
+        schedule();
+    }
+
+    /**
+     * Returns the number of events replaced by a newer event with the same key before delivery,
+     * counted over all consumers sharing the counter of this one.
+     * 
+     * @return the number of conflated events
+     */
+    public long getConflatedCount() {
+        return conflated.sum();
+    }
+
+    private void schedule() {
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            synchronized (pending) {
+                scheduled = false;
+            }
+            throw e;
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < MAX_EVENTS_PER_DRAIN; i++) {
+            T event;
+            synchronized (pending) {
+                Iterator<T> events = pending.values().iterator();
+                if (!events.hasNext()) {
+                    scheduled = false;
+                    return;
+                }
+                event = events.next();
+                events.remove();
+            }
+
+            try {
+                delegate.accept(event);
+            } catch (Throwable t) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+            }
+        }
+
+        // give other tasks of the executor a turn before delivering the rest
+        schedule();
+    }
+}
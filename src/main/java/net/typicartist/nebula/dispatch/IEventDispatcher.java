@@ -0,0 +1,22 @@
+package net.typicartist.nebula.dispatch;
+
+/**
+ * Asynchronous engine handing posted events over to consumer threads, which deliver
+ * them to an {@link net.typicartist.nebula.IEventBus}.
+ */
+public interface IEventDispatcher extends AutoCloseable {
+    /**
+     * Hands an event over for asynchronous delivery.
+     * 
+     * @param <T> the event type
+     * @param event the event to deliver
+     * @throws IllegalStateException if the dispatcher has been closed
+     */
+    <T> void dispatch(T event);
+
+    /**
+     * Stops accepting events, delivers the events already handed over and releases the consumer threads.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,80 @@
+package net.typicartist.nebula.dispatch;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Single-consumer queue of tasks run one at a time, in submission order, on a shared executor.
+ * <p>
+ * A mailbox occupies at most one executor thread at a time, so tasks of the same mailbox
+ * never run concurrently and each task sees the effects of the tasks before it, while
+ * different mailboxes run in parallel. After running its throughput of tasks a busy
+ * mailbox yields its thread and queues itself behind the other work of the executor.
+ * Exceptions thrown by a task go to the uncaught exception handler of the running thread.
+ * </p>
+ */
+public final class Mailbox implements Executor {
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Executor executor;
+    private final int throughput;
+
+    /**
+     * @param executor the executor running the mailbox
+     * @param throughput the maximum number of tasks run before yielding the executor thread
+     */
+    public Mailbox(Executor executor, int throughput) {
+        if (throughput < 1) throw new IllegalArgumentException("throughput must be positive");
+
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.throughput = throughput;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        trySchedule();
+    }
+
+    /**
+     * @return whether the mailbox has no task waiting to run
+     */
+    public boolean isEmpty() {
+        return tasks.isEmpty();
+    }
+
+    private void trySchedule() {
+        if (tasks.isEmpty() || !scheduled.compareAndSet(false, true)) return;
+
+        try {
+            executor.execute(this::run);
+        } catch (RejectedExecutionException e) {
+            scheduled.set(false);
+            throw e;
+        }
+    }
+
+    private void run() {
+        try {
+            for (int i = 0; i < throughput; i++) {
+                Runnable task = tasks.poll();
+                if (task == null) break;
+
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // tasks may have arrived after the last poll, while this run still held the mailbox
+            trySchedule();
+        }
+    }
+}
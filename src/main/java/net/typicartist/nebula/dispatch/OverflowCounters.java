@@ -0,0 +1,42 @@
+package net.typicartist.nebula.dispatch;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the overflow handling of one or more bounded queues.
+ */
+public final class OverflowCounters {
+    final LongAdder dropped = new LongAdder();
+    final LongAdder blocked = new LongAdder();
+    final LongAdder spilled = new LongAdder();
+    final LongAdder rejected = new LongAdder();
+
+    /**
+     * @return the number of events discarded by {@link net.typicartist.nebula.OverflowPolicy#DROP_NEWEST}
+     *         or {@link net.typicartist.nebula.OverflowPolicy#DROP_OLDEST}
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return the number of events whose posting thread had to wait for room in the queue
+     */
+    public long getBlockedCount() {
+        return blocked.sum();
+    }
+
+    /**
+     * @return the number of events written to disk
+     */
+    public long getSpilledCount() {
+        return spilled.sum();
+    }
+
+    /**
+     * @return the number of events rejected by {@link net.typicartist.nebula.OverflowPolicy#FAIL}
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,235 @@
+package net.typicartist.nebula.dispatch;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import net.typicartist.nebula.EventKey;
+import net.typicartist.nebula.EventKeys;
+import net.typicartist.nebula.IEventBus;
+import net.typicartist.nebula.consumer.IEventConsumer;
+
+/**
+ * Asynchronous dispatcher delivering events with the same key in order, while events
+ * with different keys are delivered in parallel.
+ * <p>
+ * Every event is routed by the hash of its key to one of a fixed number of partitions.
+ * Each partition is a lock-free multi-producer ring buffer drained by a single thread,
+ * which posts the events to the bus in the order they were dispatched. Events with the
+ * same key therefore never overtake each other, even when dispatched from different
+ * threads, as long as each producer dispatches them in order.
+ * </p>
+ * <p>
+ * The key of an event is taken from the extractor registered for its class or the
+ * nearest supertype, or else from its {@link EventKey} member.
+ * </p>
+ */
+public final class PartitionedDispatcher implements IEventDispatcher {
+    private static final Function<Object, ?> ANNOTATED_KEY = EventKeys::extract;
+
+    private final RingBufferDispatcher[] partitions;
+    private final LongAdder[] dispatched;
+    private final Map<Class<?>, Function<Object, ?>> extractors;
+    private final Map<Class<?>, Function<Object, ?>> resolvedExtractors = new ConcurrentHashMap<>();
+
+    private PartitionedDispatcher(Builder builder) {
+        this.extractors = Map.copyOf(builder.extractors);
+        this.partitions = new RingBufferDispatcher[builder.partitions];
+        this.dispatched = new LongAdder[builder.partitions];
+
+        IEventConsumer<Object> sink = builder.bus::post;
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new RingBufferDispatcher(sink, builder.bufferSize, builder.waitStrategy, 1, "nebula-partition-" + i + "-");
+            dispatched[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Returns a builder for a dispatcher posting to the given bus.
+     * 
+     * @param bus the bus events are posted to
+     * @return a new builder
+     */
+    public static Builder builder(IEventBus bus) {
+        return new Builder(bus);
+    }
+
+    /**
+     * Hands an event over to the partition of its key, waiting for room if that partition is full.
+     * 
+     * @param <T> the event type
+     * @param event the event to deliver
+     * @throws IllegalArgumentException if no key can be extracted from the event
+     * @throws IllegalStateException if the dispatcher has been closed
+     */
+    @Override
+    public <T> void dispatch(T event) {
+        int partition = partitionOf(event);
+        partitions[partition].dispatch(event);
+        dispatched[partition].increment();
+    }
+
+    /**
+     * Returns the partition an event is routed to.
+     * 
+     * @param event the event
+     * @return the partition index
+     * @throws IllegalArgumentException if no key can be extracted from the event
+     */
+    public int partitionOf(Object event) {
+        Object key = resolveExtractor(event.getClass()).apply(event);
+        int hash = Objects.hashCode(key);
+        // spread the high bits, as keys such as sequential ids often differ only there after masking
+        return Math.floorMod(hash ^ (hash >>> 16), partitions.length);
+    }
+
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    /**
+     * Returns the number of events dispatched to each partition so far.
+     * 
+     * @return the counts, indexed by partition
+     */
+    public long[] getPartitionCounts() {
+        long[] counts = new long[dispatched.length];
+        for (int i = 0; i < counts.length; i++) counts[i] = dispatched[i].sum();
+        return counts;
+    }
+
+    /**
+     * Returns the number of events waiting in each partition.
+     * 
+     * @return the backlogs, indexed by partition
+     */
+    public long[] getPartitionBacklogs() {
+        long[] backlogs = new long[partitions.length];
+        for (int i = 0; i < backlogs.length; i++) backlogs[i] = partitions[i].getBacklog();
+        return backlogs;
+    }
+
+    /**
+     * Returns how unevenly events are spread over the partitions: the number of events of
+     * the busiest partition divided by the mean per partition. 1 means a perfect spread,
+     * the partition count means every event went to the same partition.
+     * 
+     * @return the skew, 1 if no event has been dispatched yet
+     */
+    public double getSkew() {
+        long max = 0;
+        long total = 0;
+        for (LongAdder counter : dispatched) {
+            long count = counter.sum();
+            max = Math.max(max, count);
+            total += count;
+        }
+        return total == 0 ? 1.0 : (double) max * dispatched.length / total;
+    }
+
+    /**
+     * Stops accepting events and waits until every partition has delivered its events.
+     */
+    @Override
+    public void close() {
+        for (RingBufferDispatcher partition : partitions) partition.close();
+    }
+
+    private Function<Object, ?> resolveExtractor(Class<?> type) {
+        Function<Object, ?> extractor = resolvedExtractors.get(type);
+        if (extractor == null) {
+            extractor = resolvedExtractors.computeIfAbsent(type, this::findExtractor);
+        }
+        return extractor;
+    }
+
+    private Function<Object, ?> findExtractor(Class<?> type) {
+        Function<Object, ?> extractor = findRegisteredExtractor(type);
+        return extractor != null ? extractor : ANNOTATED_KEY;
+    }
+
+    private Function<Object, ?> findRegisteredExtractor(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            Function<Object, ?> extractor = extractors.get(current);
+            if (extractor != null) return extractor;
+
+            for (Class<?> iface : current.getInterfaces()) {
+                extractor = findRegisteredExtractor(iface);
+                if (extractor != null) return extractor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builder for {@link PartitionedDispatcher} instances.
+     */
+    public static final class Builder {
+        private final IEventBus bus;
+        private final Map<Class<?>, Function<Object, ?>> extractors = new HashMap<>();
+        private int partitions = Runtime.getRuntime().availableProcessors();
+        private int bufferSize = 1024;
+        private WaitStrategy waitStrategy = WaitStrategy.PARK;
+
+        private Builder(IEventBus bus) {
+            this.bus = Objects.requireNonNull(bus, "bus");
+        }
+
+        /**
+         * Sets the number of partitions, each drained by its own thread.
+         * 
+         * @param partitions the partition count, the number of available processors by default
+         * @return this builder
+         */
+        public Builder partitions(int partitions) {
+            if (partitions < 1) throw new IllegalArgumentException("partitions must be positive");
+            this.partitions = partitions;
+            return this;
+        }
+
+        /**
+         * Sets the number of slots of each partition.
+         * 
+         * @param bufferSize the number of slots, a power of two, 1024 by default
+         * @return this builder
+         */
+        public Builder bufferSize(int bufferSize) {
+            if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) throw new IllegalArgumentException("bufferSize must be a power of two");
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Sets how idle partition threads wait for events.
+         * 
+         * @param waitStrategy the wait strategy, {@link WaitStrategy#PARK} by default
+         * @return this builder
+         */
+        public Builder waitStrategy(WaitStrategy waitStrategy) {
+            this.waitStrategy = Objects.requireNonNull(waitStrategy, "waitStrategy");
+            return this;
+        }
+
+        /**
+         * Registers the key extractor for events of a type and its subtypes.
+         * 
+         * @param <T> the event type
+         * @param eventType the event class
+         * @param extractor extracts the key of an event
+         * @return this builder
+         */
+        @SuppressWarnings("unchecked")
+        public <T> Builder key(Class<T> eventType, Function<? super T, ?> extractor) {
+            Objects.requireNonNull(extractor, "extractor");
+            extractors.put(Objects.requireNonNull(eventType, "eventType"), event -> extractor.apply((T) event));
+            return this;
+        }
+
+        public PartitionedDispatcher build() {
+            return new PartitionedDispatcher(this);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package net.typicartist.nebula.dispatch;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+import net.typicartist.nebula.IEventBus;
+import net.typicartist.nebula.consumer.IEventConsumer;
+
+/**
+ * Lock-free asynchronous dispatcher built on a preallocated ring buffer.
+ * <p>
+ * Any number of producer threads claim slots with a single atomic increment and publish
+ * events without allocating. One or more consumer threads drain the buffer and post every
+ * event to the bus, which runs the usual priority-ordered handler chain. With several
+ * consumers each event is delivered by exactly one of them, so events may be handled
+ * out of order; a single consumer handles events in publication order.
+ * </p>
+ * <p>
+ * When the buffer is full, producers wait for the slowest consumer to free a slot.
+ * Exceptions thrown while delivering an event are passed to the uncaught exception
+ * handler of the consumer thread, which then carries on with the next event.
+ * </p>
+ */
+public final class RingBufferDispatcher implements IEventDispatcher {
+    private static final VarHandle AVAILABLE = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final IEventConsumer<Object> sink;
+    private final Object[] entries;
+    private final int[] available;
+    private final int mask;
+    private final int indexShift;
+    private final WaitStrategy waitStrategy;
+
+    private final Sequence claimSequence = new Sequence(0);
+    private final Sequence workSequence = new Sequence(-1);
+    private final Sequence gatingCache = new Sequence(-1);
+    private final Sequence[] consumerSequences;
+    private final Thread[] consumers;
+
+    private volatile boolean running = true;
+
+    /**
+     * Creates a dispatcher and starts its consumer threads.
+     *
+     * @param bus the bus events are posted to
+     * @param bufferSize the number of slots, must be a power of two
+     * @param waitStrategy how idle consumers wait for events
+     * @param consumerCount the number of consumer threads
+     */
+    public RingBufferDispatcher(IEventBus bus, int bufferSize, WaitStrategy waitStrategy, int consumerCount) {
+        this(bus::post, bufferSize, waitStrategy, consumerCount);
+    }
+
+    RingBufferDispatcher(IEventConsumer<Object> sink, int bufferSize, WaitStrategy waitStrategy, int consumerCount) {
+        this(sink, bufferSize, waitStrategy, consumerCount, "nebula-ring-");
+    }
+
+    RingBufferDispatcher(IEventConsumer<Object> sink, int bufferSize, WaitStrategy waitStrategy, int consumerCount, String threadPrefix) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) throw new IllegalArgumentException("bufferSize must be a power of two");
+        if (consumerCount < 1) throw new IllegalArgumentException("consumerCount must be positive");
+
+        this.sink = sink;
+        this.entries = new Object[bufferSize];
+        this.available = new int[bufferSize];
+        this.mask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.waitStrategy = Objects.requireNonNull(waitStrategy, "waitStrategy");
+        Arrays.fill(available, -1);
+
+        this.consumerSequences = new Sequence[consumerCount];
+        this.consumers = new Thread[consumerCount];
+        for (int i = 0; i < consumerCount; i++) {
+            Sequence sequence = new Sequence(-1);
+            consumerSequences[i] = sequence;
+            Runnable loop = consumerCount == 1 ? () -> runSingle(sequence) : () -> runShared(sequence);
+            consumers[i] = Thread.ofPlatform().daemon().name(threadPrefix + i).start(loop);
+        }
+    }
+
+    /**
+     * Publishes an event into the ring buffer, waiting for a free slot if the buffer is full.
+     * Events dispatched concurrently with {@link #close()} may not be delivered.
+     *
+     * @param <T> the event type
+     * @param event the event to deliver
+     * @throws IllegalStateException if the dispatcher has been closed
+     */
+    @Override
+    public <T> void dispatch(T event) {
+        Objects.requireNonNull(event, "event");
+        if (!running) throw new IllegalStateException("Dispatcher is closed");
+
+        long sequence = claimSequence.getAndIncrement();
+        long wrapPoint = sequence - entries.length;
+
+        if (wrapPoint > gatingCache.get()) {
+            long gating;
+            while (wrapPoint > (gating = minimumConsumerSequence())) {
+                LockSupport.parkNanos(1);
+            }
+            gatingCache.setRelease(gating);
+        }
+
+        int index = (int) sequence & mask;
+        entries[index] = event;
+        AVAILABLE.setRelease(available, index, (int) (sequence >>> indexShift));
+    }
+
+    /**
+     * Returns the number of events published but not yet taken by a consumer.
+     *
+     * @return an estimate of the backlog
+     */
+    public long getBacklog() {
+        return Math.max(0, claimSequence.get() - 1 - minimumConsumerSequence());
+    }
+
+    @Override
+    public void close() {
+        running = false;
+
+        for (Thread consumer : consumers) {
+            try {
+                consumer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Consumer loop for a single consumer: takes every published event in order, in batches.
+     */
+    private void runSingle(Sequence sequence) {
+        long next = sequence.get() + 1;
+        int idle = 0;
+
+        while (true) {
+            long last = next - 1;
+            while (isAvailable(last + 1)) last++;
+
+            if (last >= next) {
+                for (; next <= last; next++) deliver(next);
+                sequence.setRelease(last);
+                idle = 0;
+            } else if (!running && next >= claimSequence.get()) {
+                return;
+            } else {
+                idle = waitStrategy.idle(idle);
+            }
+        }
+    }
+
+    /**
+     * Consumer loop shared by several consumers: each one claims the next sequence with a CAS.
+     */
+    private void runShared(Sequence sequence) {
+        boolean processed = true;
+        long next = 0;
+        int idle = 0;
+
+        while (true) {
+            if (processed) {
+                processed = false;
+                do {
+                    next = workSequence.get() + 1;
+                    sequence.setRelease(next - 1);
+                } while (!workSequence.compareAndSet(next - 1, next));
+            }
+
+            if (isAvailable(next)) {
+                deliver(next);
+                processed = true;
+                idle = 0;
+            } else if (!running && next >= claimSequence.get()) {
+                return;
+            } else {
+                idle = waitStrategy.idle(idle);
+            }
+        }
+    }
+
+    private void deliver(long sequence) {
+        int index = (int) sequence & mask;
+        Object event = entries[index];
+        entries[index] = null;
+
+        try {
+            sink.accept(event);
+        } catch (Throwable t) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+        }
+    }
+
+    private boolean isAvailable(long sequence) {
+        return (int) AVAILABLE.getAcquire(available, (int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    private long minimumConsumerSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (Sequence sequence : consumerSequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+}
@@ -0,0 +1,49 @@
+package net.typicartist.nebula.dispatch;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Padded sequence counter keeping hot counters of different threads on separate cache lines.
+ */
+class SequencePadding {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+class SequenceValue extends SequencePadding {
+    volatile long value;
+}
+
+final class Sequence extends SequenceValue {
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    long p11, p12, p13, p14, p15, p16, p17;
+
+    Sequence(long initial) {
+        this.value = initial;
+    }
+
+    long get() {
+        return value;
+    }
+
+    void setRelease(long next) {
+        VALUE.setRelease(this, next);
+    }
+
+    boolean compareAndSet(long expected, long next) {
+        return VALUE.compareAndSet(this, expected, next);
+    }
+
+    long getAndIncrement() {
+        return (long) VALUE.getAndAdd(this, 1L);
+    }
+}
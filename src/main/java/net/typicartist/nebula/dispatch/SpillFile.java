@@ -0,0 +1,112 @@
+package net.typicartist.nebula.dispatch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * First-in first-out disk buffer of serialized events, stored as length-prefixed records.
+ * The file is created on first use and truncated whenever it has been read completely.
+ * It is opened for deletion on close, so closing the buffer removes it; a buffer that is
+ * never closed is removed on a best-effort basis when the JVM exits. Not thread-safe.
+ */
+final class SpillFile {
+    private final Path directory;
+    private FileChannel file;
+    private long readPosition;
+    private long writePosition;
+    private int size;
+
+    SpillFile(Path directory) {
+        this.directory = directory;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void append(Object event) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(event);
+            }
+
+            ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + bytes.size());
+            record.putInt(bytes.size()).put(bytes.toByteArray()).flip();
+            FileChannel file = open();
+            while (record.hasRemaining()) writePosition += file.write(record, writePosition);
+            size++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill event " + event, e);
+        }
+    }
+
+    Object poll() {
+        if (size == 0) return null;
+
+        try {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            readFully(length);
+            byte[] record = new byte[length.flip().getInt()];
+            readFully(ByteBuffer.wrap(record));
+
+            if (--size == 0) {
+                file.truncate(0);
+                readPosition = 0;
+                writePosition = 0;
+            }
+
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(record))) {
+                return in.readObject();
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to read spilled event", e);
+        }
+    }
+
+    void close() {
+        if (file == null) return;
+
+        try {
+            file.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        file = null;
+        size = 0;
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = file.read(buffer, readPosition);
+            if (read < 0) throw new EOFException("Spill file ended inside a record");
+            readPosition += read;
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        if (file == null) {
+            Path path = directory != null
+                    ? Files.createTempFile(directory, "nebula-spill", ".bin")
+                    : Files.createTempFile("nebula-spill", ".bin");
+            file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+            readPosition = 0;
+            writePosition = 0;
+        }
+        return file;
+    }
+}
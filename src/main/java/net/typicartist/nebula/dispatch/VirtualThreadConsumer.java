@@ -0,0 +1,60 @@
+package net.typicartist.nebula.dispatch;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+import net.typicartist.nebula.consumer.IEventConsumer;
+
+/**
+ * Consumer decorator running every event on a new virtual thread.
+ * <p>
+ * An optional bound limits how many virtual threads run the delegate at the same time.
+ * The permit is taken before a thread is started, so at the bound the posting thread
+ * waits for a running invocation to finish instead of piling up parked threads that
+ * each hold an event. Without a bound the posting thread is never blocked. Exceptions
+ * thrown by the delegate go to the uncaught exception handler of the virtual thread.
+ * </p>
+ * 
+ * @param <T> the event type
+ */
+public final class VirtualThreadConsumer<T> implements IEventConsumer<T> {
+    private static final ThreadFactory THREADS = Thread.ofVirtual().name("nebula-virtual-", 0).factory();
+
+    private final IEventConsumer<T> delegate;
+    private final Semaphore permits;
+
+    /**
+     * @param delegate the consumer to run on virtual threads
+     * @param maxConcurrency the maximum number of concurrent invocations, 0 for no bound
+     */
+    public VirtualThreadConsumer(IEventConsumer<T> delegate, int maxConcurrency) {
+        if (maxConcurrency < 0) throw new IllegalArgumentException("maxConcurrency must not be negative");
+
+        this.delegate = delegate;
+        this.permits = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+    }
+
+    @Override
+    public void accept(T event) {
+        if (permits == null) {
+            THREADS.newThread(() -> delegate.accept(event)).start();
+            return;
+        }
+
+        permits.acquireUninterruptibly();
+        try {
+            THREADS.newThread(() -> run(event)).start();
+        } catch (Throwable t) {
+            permits.release();
+            throw t;
+        }
+    }
+
+    private void run(T event) {
+        try {
+            delegate.accept(event);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package net.typicartist.nebula.dispatch;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How an idle consumer thread waits for the next event to be published.
+ */
+public enum WaitStrategy {
+    /**
+     * Spins on the CPU; lowest latency, but keeps a core busy while idle.
+     */
+    BUSY_SPIN {
+        @Override
+        int idle(int counter) {
+            Thread.onSpinWait();
+            return counter;
+        }
+    },
+
+    /**
+     * Spins briefly, then yields the CPU to other threads between checks.
+     */
+    YIELD {
+        @Override
+        int idle(int counter) {
+            if (counter < SPIN_TRIES) {
+                Thread.onSpinWait();
+                return counter + 1;
+            }
+            Thread.yield();
+            return counter;
+        }
+    },
+
+    /**
+     * Spins and yields briefly, then parks for the shortest timed interval between checks.
+     * Idle consumers use almost no CPU at the cost of wake-up latency.
+     */
+    PARK {
+        @Override
+        int idle(int counter) {
+            if (counter < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (counter < SPIN_TRIES * 2) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+                return counter;
+            }
+            return counter + 1;
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = 1_000;
+
+    /**
+     * Waits once.
+     * 
+     * @param counter the number of consecutive idle rounds so far, 0 after progress
+     * @return the counter to pass to the next idle round
+     */
+    abstract int idle(int counter);
+}
@@ -2,9 +2,10 @@ package net.typicartist.nebula.handler;
 
 public interface IEventHandler {
     int getPriority();
+    Class<?> getEventType();
     boolean isOnce();
     boolean isActive();
     void setActive(boolean active);
-    void invoke(Object event, Runnable removeCallback);
+    void invoke(Object event);
     Object getSubscriber();
 }
@@ -0,0 +1,22 @@
+package net.typicartist.nebula.index;
+
+/**
+ * A precomputed description of the {@link net.typicartist.nebula.Subscriber} methods
+ * declared by one subscriber class.
+ * <p>
+ * Implementations are usually generated at compile time by the nebula annotation
+ * processor and discovered through {@link java.util.ServiceLoader}, which lets
+ * the bus register subscribers without reflection.
+ * </p>
+ */
+public interface ISubscriberIndex {
+    Class<?> getSubscriberClass();
+
+    /**
+     * Returns the subscriber methods declared by the indexed class.
+     * The returned array is shared and must not be modified.
+     * 
+     * @return the indexed subscriber methods
+     */
+    SubscriberMethod[] getSubscriberMethods();
+}
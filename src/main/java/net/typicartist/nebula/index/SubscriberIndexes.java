@@ -0,0 +1,47 @@
+package net.typicartist.nebula.index;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Lookup of the {@link ISubscriberIndex} implementations available on the class path.
+ * Indexes are loaded once, on first use.
+ */
+public final class SubscriberIndexes {
+
+    private SubscriberIndexes() {
+    }
+
+    /**
+     * Returns the index generated for the given subscriber class, if any.
+     * 
+     * @param subscriberClass the subscriber class
+     * @return the index, or null if the class must be scanned reflectively
+     */
+    public static ISubscriberIndex find(Class<?> subscriberClass) {
+        return Holder.INDEXES.get(subscriberClass);
+    }
+
+    private static final class Holder {
+        static final Map<Class<?>, ISubscriberIndex> INDEXES = load();
+
+        private static Map<Class<?>, ISubscriberIndex> load() {
+            Map<Class<?>, ISubscriberIndex> indexes = new HashMap<>();
+
+            Iterator<ISubscriberIndex> providers = ServiceLoader.load(ISubscriberIndex.class).iterator();
+            while (providers.hasNext()) {
+                try {
+                    ISubscriberIndex index = providers.next();
+                    indexes.put(index.getSubscriberClass(), index);
+                } catch (ServiceConfigurationError e) {
+                    System.err.println("Invalid subscriber index: " + e.getMessage());
+                }
+            }
+
+            return Map.copyOf(indexes);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package net.typicartist.nebula.index;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import net.typicartist.nebula.DispatchMode;
+import net.typicartist.nebula.EventKeys;
+import net.typicartist.nebula.EventPriority;
+import net.typicartist.nebula.OverflowPolicy;
+import net.typicartist.nebula.consumer.IConsumerFactory;
+
+/**
+ * Registration metadata of a single subscriber method, independent of any subscriber instance.
+ */
+public final class SubscriberMethod {
+    private static final Function<Object, ?> EVENT_KEY = EventKeys::extract;
+
+    private final String name;
+    private final Class<?> eventType;
+    private final int priority;
+    private final boolean once;
+    private final DispatchMode dispatchMode;
+    private final int maxConcurrency;
+    private final boolean batch;
+    private final int maxBatchSize;
+    private final long maxBatchDelay;
+    private final Function<Object, ?> conflationKey;
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final IConsumerFactory factory;
+
+    public SubscriberMethod(String name, Class<?> eventType, int priority, boolean once, IConsumerFactory factory) {
+        this(builder(name, eventType).priority(priority).once(once).factory(factory));
+    }
+
+    private SubscriberMethod(Builder builder) {
+        this.name = builder.name;
+        this.eventType = builder.eventType;
+        this.priority = builder.priority;
+        this.once = builder.once;
+        this.dispatchMode = builder.dispatchMode;
+        this.maxConcurrency = builder.maxConcurrency;
+        this.batch = builder.batch;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxBatchDelay = builder.maxBatchDelay;
+        this.conflationKey = builder.conflationKey;
+        this.queueCapacity = builder.queueCapacity;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.factory = builder.factory;
+    }
+
+    /**
+     * Returns a builder for the metadata of a subscriber method; unset attributes
+     * take the defaults of {@link net.typicartist.nebula.Subscriber}.
+     * 
+     * @param name the method name
+     * @param eventType the event type the method receives
+     * @return a new builder
+     */
+    public static Builder builder(String name, Class<?> eventType) {
+        return new Builder(name, eventType);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<?> getEventType() {
+        return eventType;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public boolean isOnce() {
+        return once;
+    }
+
+    public DispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Returns whether the method receives a {@code List} of events instead of single events.
+     * 
+     * @return true for batch subscribers
+     */
+    public boolean isBatch() {
+        return batch;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @return the maximum batch delay in milliseconds, 0 for no time bound
+     */
+    public long getMaxBatchDelay() {
+        return maxBatchDelay;
+    }
+
+    /**
+     * Returns the key extractor used to conflate pending events of this method.
+     * 
+     * @return the key extractor, or null if events are not conflated
+     */
+    public Function<Object, ?> getConflationKey() {
+        return conflationKey;
+    }
+
+    /**
+     * @return whether events are conflated by their {@link net.typicartist.nebula.EventKey}
+     */
+    public boolean isConflatedByEventKey() {
+        return conflationKey == EVENT_KEY;
+    }
+
+    /**
+     * @return the capacity of the queue delivering events asynchronously, 0 for no queue
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public IConsumerFactory getFactory() {
+        return factory;
+    }
+
+    /**
+     * Builder for {@link SubscriberMethod} instances.
+     */
+    public static final class Builder {
+        private final String name;
+        private final Class<?> eventType;
+        private int priority = EventPriority.NORMAL.getValue();
+        private boolean once;
+        private DispatchMode dispatchMode = DispatchMode.DEFAULT;
+        private int maxConcurrency;
+        private boolean batch;
+        private int maxBatchSize = 100;
+        private long maxBatchDelay = 10;
+        private Function<Object, ?> conflationKey;
+        private int queueCapacity;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private IConsumerFactory factory;
+
+        private Builder(String name, Class<?> eventType) {
+            this.name = Objects.requireNonNull(name, "name");
+            this.eventType = Objects.requireNonNull(eventType, "eventType");
+        }
+
+        public Builder priority(int priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        public Builder once(boolean once) {
+            this.once = once;
+            return this;
+        }
+
+        public Builder dispatch(DispatchMode dispatchMode) {
+            this.dispatchMode = Objects.requireNonNull(dispatchMode, "dispatchMode");
+            return this;
+        }
+
+        public Builder maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 0) throw new IllegalArgumentException("maxConcurrency must not be negative");
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        public Builder batch(boolean batch) {
+            this.batch = batch;
+            return this;
+        }
+
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize < 1) throw new IllegalArgumentException("maxBatchSize must be positive");
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public Builder maxBatchDelay(long maxBatchDelay) {
+            if (maxBatchDelay < 0) throw new IllegalArgumentException("maxBatchDelay must not be negative");
+            this.maxBatchDelay = maxBatchDelay;
+            return this;
+        }
+
+        /**
+         * Conflates pending events by their {@link net.typicartist.nebula.EventKey}.
+         * 
+         * @param conflate whether to conflate events
+         * @return this builder
+         */
+        public Builder conflate(boolean conflate) {
+            this.conflationKey = conflate ? EVENT_KEY : null;
+            return this;
+        }
+
+        public Builder conflationKey(Function<Object, ?> conflationKey) {
+            this.conflationKey = conflationKey;
+            return this;
+        }
+
+        public Builder queueCapacity(int queueCapacity) {
+            if (queueCapacity < 0) throw new IllegalArgumentException("queueCapacity must not be negative");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public Builder overflow(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy");
+            return this;
+        }
+
+        public Builder factory(IConsumerFactory factory) {
+            this.factory = factory;
+            return this;
+        }
+
+        public SubscriberMethod build() {
+            return new SubscriberMethod(this);
+        }
+    }
+}
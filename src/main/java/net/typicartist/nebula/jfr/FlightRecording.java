@@ -0,0 +1,46 @@
+package net.typicartist.nebula.jfr;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Tracks whether any flight recording is running, so that the dispatch path can skip
+ * creating events with a single field read while nothing is recorded. Event objects
+ * are not reliably eliminated by the JIT, and a post creates one per handler.
+ */
+public final class FlightRecording {
+    private static volatile boolean active;
+
+    static {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                update();
+            }
+        });
+        if (FlightRecorder.isInitialized()) update();
+    }
+
+    private FlightRecording() {
+    }
+
+    /**
+     * @return whether a recording is running; the event types may still be disabled in it
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    private static void update() {
+        boolean running = false;
+        for (Recording recording : FlightRecorder.getFlightRecorder().getRecordings()) {
+            if (recording.getState() == RecordingState.RUNNING) {
+                running = true;
+                break;
+            }
+        }
+        active = running;
+    }
+}
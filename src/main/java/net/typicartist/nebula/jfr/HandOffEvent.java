@@ -0,0 +1,55 @@
+package net.typicartist.nebula.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event spanning the hand-off of an event to an asynchronous handler:
+ * enqueueing, batching, conflating or scheduling it, including time spent blocked on a
+ * full queue. The handler itself is recorded by a {@link HandlerInvocationEvent} on the
+ * thread that runs it.
+ */
+@Name("net.typicartist.nebula.HandOff")
+@Label("Handler Hand-off")
+@Category("Nebula")
+@Description("Hand-off of an event to an asynchronous handler")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class HandOffEvent extends Event {
+    @Label("Event Class")
+    Class<?> eventClass;
+
+    @Label("Subscriber")
+    @Description("Class of the subscriber, or of the consumer for handlers registered without one")
+    Class<?> subscriber;
+
+    @Label("Method")
+    String method;
+
+    @Label("Priority")
+    int priority;
+
+    /**
+     * Ends the event and commits it if it passes the recording settings.
+     * 
+     * @param eventClass the concrete class of the handed-off event
+     * @param subscriber the class of the subscriber or consumer
+     * @param method the name of the handler method
+     * @param priority the priority of the handler
+     */
+    public void report(Class<?> eventClass, Class<?> subscriber, String method, int priority) {
+        end();
+        if (!shouldCommit()) return;
+
+        this.eventClass = eventClass;
+        this.subscriber = subscriber;
+        this.method = method;
+        this.priority = priority;
+        commit();
+    }
+}
@@ -0,0 +1,53 @@
+package net.typicartist.nebula.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event spanning one handler invocation, on the thread running the handler.
+ * Only invocations exceeding the threshold are recorded by default.
+ */
+@Name("net.typicartist.nebula.HandlerInvocation")
+@Label("Handler Invocation")
+@Category("Nebula")
+@Description("Invocation of an event handler")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class HandlerInvocationEvent extends Event {
+    @Label("Event Class")
+    Class<?> eventClass;
+
+    @Label("Subscriber")
+    @Description("Class of the subscriber, or of the consumer for handlers registered without one")
+    Class<?> subscriber;
+
+    @Label("Method")
+    String method;
+
+    @Label("Priority")
+    int priority;
+
+    /**
+     * Ends the event and commits it if it passes the recording settings.
+     * 
+     * @param eventClass the concrete class of the handled event
+     * @param subscriber the class of the subscriber or consumer
+     * @param method the name of the handler method
+     * @param priority the priority of the handler
+     */
+    public void report(Class<?> eventClass, Class<?> subscriber, String method, int priority) {
+        end();
+        if (!shouldCommit()) return;
+
+        this.eventClass = eventClass;
+        this.subscriber = subscriber;
+        this.method = method;
+        this.priority = priority;
+        commit();
+    }
+}
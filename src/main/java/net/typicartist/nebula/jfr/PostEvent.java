@@ -0,0 +1,41 @@
+package net.typicartist.nebula.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event spanning a synchronous post, from handler resolution to the
+ * return of the last handler.
+ */
+@Name("net.typicartist.nebula.Post")
+@Label("Event Post")
+@Category("Nebula")
+@Description("Synchronous dispatch of an event to its handler chain")
+@Threshold("1 ms")
+public final class PostEvent extends Event {
+    @Label("Event Class")
+    Class<?> eventClass;
+
+    @Label("Handlers")
+    @Description("Number of handlers in the resolved chain, including inactive ones")
+    int handlers;
+
+    /**
+     * Ends the event and commits it if it passes the recording settings.
+     * 
+     * @param eventClass the concrete class of the posted event
+     * @param handlers the length of the handler chain
+     */
+    public void report(Class<?> eventClass, int handlers) {
+        end();
+        if (!shouldCommit()) return;
+
+        this.eventClass = eventClass;
+        this.handlers = handlers;
+        commit();
+    }
+}
@@ -0,0 +1,55 @@
+package net.typicartist.nebula.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a handler being added to or removed from a bus.
+ */
+@Name("net.typicartist.nebula.Registration")
+@Label("Handler Registration")
+@Category("Nebula")
+@Description("Registration or removal of an event handler")
+public final class RegistrationEvent extends Event {
+    @Label("Event Class")
+    @Description("Event type the handler listens for")
+    Class<?> eventClass;
+
+    @Label("Subscriber")
+    @Description("Class of the subscriber, or of the consumer for handlers registered without one")
+    Class<?> subscriber;
+
+    @Label("Method")
+    String method;
+
+    @Label("Priority")
+    int priority;
+
+    @Label("Registered")
+    @Description("Whether the handler was added, false if it was removed")
+    boolean registered;
+
+    /**
+     * Ends the event and commits it if it passes the recording settings.
+     * 
+     * @param eventClass the event type of the handler
+     * @param subscriber the class of the subscriber or consumer
+     * @param method the name of the handler method
+     * @param priority the priority of the handler
+     * @param registered whether the handler was added or removed
+     */
+    public void report(Class<?> eventClass, Class<?> subscriber, String method, int priority, boolean registered) {
+        end();
+        if (!shouldCommit()) return;
+
+        this.eventClass = eventClass;
+        this.subscriber = subscriber;
+        this.method = method;
+        this.priority = priority;
+        this.registered = registered;
+        commit();
+    }
+}
@@ -0,0 +1,39 @@
+package net.typicartist.nebula.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link IEventMetrics} keeping {@link LatencyStats} per handler and per event type.
+ * Handlers sharing a {@link HandlerKey}, such as the same method of several instances of
+ * a subscriber class, share their statistics.
+ */
+public final class EventMetrics implements IEventMetrics {
+    private final Map<HandlerKey, LatencyStats> handlers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, LatencyStats> posts = new ConcurrentHashMap<>();
+
+    @Override
+    public ILatencyRecorder handlerRecorder(HandlerKey handler) {
+        return handlers.computeIfAbsent(handler, k -> new LatencyStats());
+    }
+
+    @Override
+    public ILatencyRecorder postRecorder(Class<?> eventType) {
+        return posts.computeIfAbsent(eventType, k -> new LatencyStats());
+    }
+
+    /**
+     * @return a live, unmodifiable view of the statistics per handler
+     */
+    public Map<HandlerKey, LatencyStats> getHandlerStats() {
+        return Collections.unmodifiableMap(handlers);
+    }
+
+    /**
+     * @return a live, unmodifiable view of the statistics of posts per concrete event class
+     */
+    public Map<Class<?>, LatencyStats> getPostStats() {
+        return Collections.unmodifiableMap(posts);
+    }
+}
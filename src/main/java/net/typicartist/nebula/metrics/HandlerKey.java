@@ -0,0 +1,17 @@
+package net.typicartist.nebula.metrics;
+
+/**
+ * Identifies a handler in metrics: the class declaring it, its method and its event type.
+ * For consumers registered without a subscriber, the subscriber class is the consumer class
+ * and the method is {@code accept}.
+ * 
+ * @param subscriberClass the subscriber or consumer class
+ * @param method the handler method name
+ * @param eventType the event type the handler is registered for
+ */
+public record HandlerKey(Class<?> subscriberClass, String method, Class<?> eventType) {
+    @Override
+    public String toString() {
+        return subscriberClass.getName() + "#" + method + "(" + eventType.getName() + ")";
+    }
+}
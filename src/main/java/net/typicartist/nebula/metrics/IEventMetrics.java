@@ -0,0 +1,44 @@
+package net.typicartist.nebula.metrics;
+
+/**
+ * Metrics SPI of an {@link net.typicartist.nebula.EventBus}.
+ * <p>
+ * Recorders are resolved once, when a handler is registered or an event class is first
+ * posted, so recording itself involves no lookup. Returning null from a method disables
+ * the corresponding measurement; with {@link #NONE}, the default, nothing is measured
+ * and the bus dispatches exactly as without metrics.
+ * </p>
+ */
+public interface IEventMetrics {
+    /**
+     * Metrics implementation measuring nothing.
+     */
+    IEventMetrics NONE = new IEventMetrics() {
+        @Override
+        public ILatencyRecorder handlerRecorder(HandlerKey handler) {
+            return null;
+        }
+
+        @Override
+        public ILatencyRecorder postRecorder(Class<?> eventType) {
+            return null;
+        }
+    };
+
+    /**
+     * Returns the recorder of the invocation times of a handler.
+     * 
+     * @param handler identifies the handler being registered
+     * @return the recorder, or null to not measure the handler
+     */
+    ILatencyRecorder handlerRecorder(HandlerKey handler);
+
+    /**
+     * Returns the recorder of the dispatch times of posts of an event class, each covering
+     * the whole handler chain.
+     * 
+     * @param eventType the concrete class of posted events
+     * @return the recorder, or null to not measure posts of the class
+     */
+    ILatencyRecorder postRecorder(Class<?> eventType);
+}
@@ -0,0 +1,15 @@
+package net.typicartist.nebula.metrics;
+
+/**
+ * Receives the durations measured for one handler or one event type.
+ * Implementations are called on the hot path and must be cheap and thread-safe.
+ */
+@FunctionalInterface
+public interface ILatencyRecorder {
+    /**
+     * Records one measured duration.
+     * 
+     * @param nanos the duration in nanoseconds
+     */
+    void record(long nanos);
+}
@@ -0,0 +1,54 @@
+package net.typicartist.nebula.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Invocation count, total and maximum time and latency histogram of one handler or event type.
+ */
+public final class LatencyStats implements ILatencyRecorder {
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LongAdder totalNanos = new LongAdder();
+    private volatile long maxNanos;
+
+    @Override
+    public void record(long nanos) {
+        histogram.record(nanos);
+        totalNanos.add(nanos);
+        // the maximum rarely changes, so only contend when it does
+        if (nanos > maxNanos) updateMax(nanos);
+    }
+
+    private synchronized void updateMax(long nanos) {
+        if (nanos > maxNanos) maxNanos = nanos;
+    }
+
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * @return the mean duration in nanoseconds, 0 if nothing was recorded
+     */
+    public double getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) getTotalNanos() / count;
+    }
+
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.0fns p99=%dns max=%dns",
+                getCount(), getMeanNanos(), histogram.getValueAtPercentile(99), getMaxNanos());
+    }
+}
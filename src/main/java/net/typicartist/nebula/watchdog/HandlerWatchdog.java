@@ -0,0 +1,368 @@
+package net.typicartist.nebula.watchdog;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import net.typicartist.nebula.consumer.IEventConsumer;
+import net.typicartist.nebula.dispatch.Mailbox;
+import net.typicartist.nebula.metrics.HandlerKey;
+
+/**
+ * Detects handler invocations running longer than a latency budget.
+ * <p>
+ * Every watched invocation publishes its handler, event and start time in a slot of the
+ * running thread. A daemon thread scans the slots a few times per budget and reports each
+ * invocation found running past the budget once, together with a sample of the stack of
+ * its thread, while it is still running. Publishing is a handful of plain stores fenced
+ * by a version counter, so on platform threads watching costs no locks or allocation per
+ * invocation. A virtual thread usually runs a single invocation, so it gets a slot for
+ * its outermost watched invocation only and gives it up when that invocation returns.
+ * </p>
+ * <p>
+ * Handlers are watched wherever they run: synchronous handlers on the posting thread,
+ * asynchronous handlers on the thread finally running them, so events delivered through
+ * any dispatcher posting to the bus are covered as well.
+ * </p>
+ * <p>
+ * With {@link Builder#demote(boolean)}, a synchronous handler caught exceeding the budget
+ * is demoted: its later events are queued to a mailbox on the bus executor and handled
+ * one at a time in order, so the handler no longer delays the posting thread but can no
+ * longer cancel events for the handlers after it. The mailbox starts draining only once
+ * the invocations already running inline have finished, so demotion never runs the
+ * handler concurrently with itself.
+ * </p>
+ */
+public final class HandlerWatchdog implements AutoCloseable {
+    /** Tasks a demoted handler runs before yielding its executor thread, as for bus mailboxes. */
+    private static final int DEMOTED_THROUGHPUT = 64;
+
+    private final long budgetNanos;
+    private final long intervalNanos;
+    private final ISlowHandlerListener listener;
+    private final boolean demote;
+    private final Set<Slot> slots = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Slot> threadSlots = ThreadLocal.withInitial(this::newSlot);
+    private final Thread scanner;
+    private volatile boolean closed;
+
+    private HandlerWatchdog(Builder builder) {
+        this.budgetNanos = builder.budget.toNanos();
+        this.intervalNanos = builder.interval != null ? builder.interval.toNanos() : Math.max(budgetNanos / 4, 1_000_000);
+        this.listener = builder.listener;
+        this.demote = builder.demote;
+        this.scanner = Thread.ofPlatform().daemon().name("nebula-watchdog").start(this::scan);
+    }
+
+    /**
+     * Returns a builder for a watchdog with the given latency budget.
+     * 
+     * @param budget the time a handler invocation may take before it is reported
+     * @return a new builder
+     */
+    public static Builder builder(Duration budget) {
+        return new Builder(budget);
+    }
+
+    /**
+     * Wraps the innermost consumer of a handler so that its invocations are watched.
+     * 
+     * @param consumer the consumer running the handler
+     * @param handler the handler identity to report
+     * @param subscriber the subscriber of the handler, null for consumers registered without one
+     * @param executor the executor demoted invocations run on, null if the handler must not be demoted
+     * @return the watched consumer
+     */
+    public IEventConsumer<Object> watch(IEventConsumer<Object> consumer, HandlerKey handler, Object subscriber, Executor executor) {
+        return new WatchedConsumer(consumer, handler, subscriber, demote ? executor : null);
+    }
+
+    /**
+     * Stops the watchdog thread. Watched handlers keep running without being reported.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(scanner);
+    }
+
+    /**
+     * Returns the number of threads currently holding a slot.
+     */
+    int slotCount() {
+        return slots.size();
+    }
+
+    private Slot newSlot() {
+        Slot slot = new Slot(Thread.currentThread());
+        slots.add(slot);
+        return slot;
+    }
+
+    private void scan() {
+        while (!closed) {
+            LockSupport.parkNanos(this, intervalNanos);
+
+            long now = System.nanoTime();
+            for (Iterator<Slot> it = slots.iterator(); it.hasNext();) {
+                Slot slot = it.next();
+                if (!slot.thread.isAlive()) {
+                    it.remove();
+                    continue;
+                }
+                check(slot, now);
+            }
+        }
+    }
+
+    private void check(Slot slot, long now) {
+        long version = (long) Slot.VERSION.getAcquire(slot);
+        if ((version & 1) != 0) return;
+
+        WatchedConsumer handler = slot.handler;
+        Object event = slot.event;
+        long start = slot.start;
+        VarHandle.loadLoadFence();
+        if ((long) Slot.VERSION.getAcquire(slot) != version) return;
+
+        if (handler == null || now - start < budgetNanos) return;
+        if (handler == slot.reportedHandler && start == slot.reportedStart) return;
+        slot.reportedHandler = handler;
+        slot.reportedStart = start;
+
+        StackTraceElement[] stack = slot.thread.getStackTrace();
+        boolean demoted = handler.demote();
+        try {
+            listener.onSlowHandler(new SlowHandlerReport(handler.handler, handler.subscriber, event, slot.thread, now - start, stack, demoted));
+        } catch (Throwable t) {
+            t.printStackTrace();
+        }
+    }
+
+    /**
+     * The invocation a thread is running, written only by that thread. Writers make the
+     * version odd while updating the fields, so the scanner can detect torn reads.
+     */
+    private static final class Slot {
+        static final VarHandle VERSION;
+
+        static {
+            try {
+                VERSION = MethodHandles.lookup().findVarHandle(Slot.class, "version", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        final Thread thread;
+        long version;
+        WatchedConsumer handler;
+        Object event;
+        long start;
+
+        // read and written by the scanner only
+        WatchedConsumer reportedHandler;
+        long reportedStart;
+
+        Slot(Thread thread) {
+            this.thread = thread;
+        }
+
+        void publish(WatchedConsumer handler, Object event, long start) {
+            long next = version + 1;
+            VERSION.setOpaque(this, next);
+            VarHandle.storeStoreFence();
+            this.handler = handler;
+            this.event = event;
+            this.start = start;
+            VERSION.setRelease(this, next + 1);
+        }
+    }
+
+    private final class WatchedConsumer implements IEventConsumer<Object> {
+        private final IEventConsumer<Object> consumer;
+        private final HandlerKey handler;
+        private final Object subscriber;
+        private final Executor executor;
+        /** Inline invocations in progress, counted only for handlers that may be demoted. */
+        private final AtomicInteger inline = new AtomicInteger();
+        private volatile Gate gate;
+        private volatile Mailbox demoted;
+
+        WatchedConsumer(IEventConsumer<Object> consumer, HandlerKey handler, Object subscriber, Executor executor) {
+            this.consumer = consumer;
+            this.handler = handler;
+            this.subscriber = subscriber;
+            this.executor = executor;
+        }
+
+        @Override
+        public void accept(Object event) {
+            if (executor == null) {
+                run(event);
+                return;
+            }
+
+            // counted before checking for demotion, so that demote either sees this call or is seen by it
+            inline.incrementAndGet();
+            Mailbox mailbox = demoted;
+            if (mailbox != null) {
+                leaveInline();
+                mailbox.execute(() -> run(event));
+                return;
+            }
+
+            try {
+                run(event);
+            } finally {
+                leaveInline();
+            }
+        }
+
+        private void leaveInline() {
+            if (inline.decrementAndGet() == 0) {
+                Gate current = gate;
+                if (current != null) current.open();
+            }
+        }
+
+        private void run(Object event) {
+            Slot slot = threadSlots.get();
+            // handlers posting events run nested handlers on the same thread
+            WatchedConsumer outer = slot.handler;
+            Object outerEvent = slot.event;
+            long outerStart = slot.start;
+
+            slot.publish(this, event, System.nanoTime());
+            try {
+                consumer.accept(event);
+            } finally {
+                slot.publish(outer, outerEvent, outerStart);
+                // virtual threads are rarely reused, so their slots would only pile up until the next scan
+                if (outer == null && slot.thread.isVirtual()) {
+                    threadSlots.remove();
+                    slots.remove(slot);
+                }
+            }
+        }
+
+        /**
+         * Demotes the handler if it may be, called by the scanner only.
+         * 
+         * @return whether the handler was demoted by this call
+         */
+        boolean demote() {
+            if (executor == null || demoted != null) return false;
+
+            Gate held = new Gate(executor);
+            gate = held;
+            demoted = new Mailbox(held, DEMOTED_THROUGHPUT);
+            if (inline.get() == 0) held.open();
+            return true;
+        }
+    }
+
+    /**
+     * Executor holding back the mailbox of a demoted handler until the invocations that
+     * were running inline when it was demoted have finished. A mailbox schedules at most
+     * one drain at a time, so at most one task is ever held.
+     */
+    private static final class Gate implements Executor {
+        private final Executor executor;
+        private Runnable held;
+        private boolean open;
+
+        Gate(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            synchronized (this) {
+                if (!open) {
+                    held = task;
+                    return;
+                }
+            }
+            executor.execute(task);
+        }
+
+        void open() {
+            Runnable task;
+            synchronized (this) {
+                if (open) return;
+                open = true;
+                task = held;
+                held = null;
+            }
+            if (task != null) executor.execute(task);
+        }
+    }
+
+    /**
+     * Builder for a {@link HandlerWatchdog}.
+     */
+    public static final class Builder {
+        private final Duration budget;
+        private Duration interval;
+        private ISlowHandlerListener listener = ISlowHandlerListener.LOG;
+        private boolean demote;
+
+        private Builder(Duration budget) {
+            if (budget.isNegative() || budget.isZero()) throw new IllegalArgumentException("budget must be positive");
+            this.budget = budget;
+        }
+
+        /**
+         * Sets how often running handlers are checked, which bounds how late a slow
+         * invocation is detected.
+         * 
+         * @param interval the scan interval, a quarter of the budget but at least 1 ms by default
+         * @return this builder
+         */
+        public Builder interval(Duration interval) {
+            if (interval.isNegative() || interval.isZero()) throw new IllegalArgumentException("interval must be positive");
+            this.interval = interval;
+            return this;
+        }
+
+        /**
+         * Sets the listener receiving slow handler reports.
+         * 
+         * @param listener the listener, {@link ISlowHandlerListener#LOG} by default
+         * @return this builder
+         */
+        public Builder listener(ISlowHandlerListener listener) {
+            this.listener = Objects.requireNonNull(listener, "listener");
+            return this;
+        }
+
+        /**
+         * Sets whether synchronous handlers exceeding the budget are demoted to run
+         * asynchronously on the bus executor from then on.
+         * 
+         * @param demote whether to demote slow handlers, false by default
+         * @return this builder
+         */
+        public Builder demote(boolean demote) {
+            this.demote = demote;
+            return this;
+        }
+
+        /**
+         * Creates the watchdog and starts its thread.
+         * 
+         * @return a new watchdog
+         */
+        public HandlerWatchdog build() {
+            return new HandlerWatchdog(this);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package net.typicartist.nebula.watchdog;
+
+/**
+ * Receives the handlers a {@link HandlerWatchdog} caught exceeding their latency budget.
+ * Listeners run on the watchdog thread, so a slow listener delays further detection.
+ */
+@FunctionalInterface
+public interface ISlowHandlerListener {
+    /** Prints reports and their sampled stacks to {@code System.err}. */
+    ISlowHandlerListener LOG = report -> {
+        StringBuilder message = new StringBuilder(report.toString());
+        for (StackTraceElement element : report.stack()) message.append("\n\tat ").append(element);
+        System.err.println(message);
+    };
+
+    /**
+     * Called once per invocation exceeding the budget, while the handler is still running.
+     * 
+     * @param report the slow handler, its event and its sampled stack
+     */
+    void onSlowHandler(SlowHandlerReport report);
+}
@@ -0,0 +1,26 @@
+package net.typicartist.nebula.watchdog;
+
+import java.util.concurrent.TimeUnit;
+
+import net.typicartist.nebula.metrics.HandlerKey;
+
+/**
+ * A handler invocation caught running past the budget of a {@link HandlerWatchdog}.
+ * 
+ * @param handler the subscriber or consumer class, method and event type of the handler
+ * @param subscriber the subscriber the handler belongs to, null for consumers registered without one
+ * @param event the event being handled
+ * @param thread the thread running the handler
+ * @param elapsedNanos how long the invocation had been running when it was sampled
+ * @param stack the stack of the running thread, sampled right after detection
+ * @param demoted whether this report demoted the handler to asynchronous execution
+ */
+public record SlowHandlerReport(HandlerKey handler, Object subscriber, Object event, Thread thread, long elapsedNanos,
+        StackTraceElement[] stack, boolean demoted) {
+
+    @Override
+    public String toString() {
+        return "Slow handler " + handler + " running for " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms on "
+                + thread.getName() + " with " + event + (demoted ? ", demoted to asynchronous execution" : "");
+    }
+}
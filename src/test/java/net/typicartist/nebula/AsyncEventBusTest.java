@@ -0,0 +1,659 @@
+package net.typicartist.nebula;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.typicartist.nebula.EventBusTest.CancellableTestEvent;
+import net.typicartist.nebula.EventBusTest.TestEvent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncEventBusTest {
+
+    private ExecutorService executor;
+    private EventBus bus;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        bus = EventBus.builder().executor(executor).build();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testPostAsyncRunsHandlersInPriorityOrder() throws Exception {
+        List<String> callOrder = new CopyOnWriteArrayList<>();
+        Thread caller = Thread.currentThread();
+        final Thread[] handlerThread = {null};
+
+        bus.register(TestEvent.class, e -> callOrder.add("LOW"), EventPriority.LOW, false);
+        bus.register(TestEvent.class, e -> {
+            handlerThread[0] = Thread.currentThread();
+            callOrder.add("HIGH");
+        }, EventPriority.HIGH, false);
+
+        TestEvent event = new TestEvent("async");
+        assertSame(event, bus.postAsync(event).get(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of("HIGH", "LOW"), callOrder);
+        assertNotSame(caller, handlerThread[0]);
+    }
+
+    @Test
+    public void testPostAsyncPerHandlerRunsHandlersConcurrently() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        bus.register(TestEvent.class, e -> awaitOthers(bothStarted), EventPriority.HIGH, false);
+        bus.register(TestEvent.class, e -> awaitOthers(bothStarted), EventPriority.LOW, false);
+
+        bus.postAsync(new TestEvent("fan out"), AsyncMode.PER_HANDLER).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testPostAsyncCompletesExceptionally() {
+        bus.register(TestEvent.class, e -> {
+            throw new IllegalStateException("broken handler");
+        }, EventPriority.NORMAL, false);
+
+        CompletableFuture<TestEvent> future = bus.postAsync(new TestEvent("failing"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testPostAsyncPerHandlerCompletesExceptionallyWhenRejected() throws Exception {
+        AtomicInteger accepted = new AtomicInteger();
+        Executor limited = task -> {
+            if (accepted.incrementAndGet() > 2) throw new RejectedExecutionException("full");
+            executor.execute(task);
+        };
+        EventBus limitedBus = EventBus.builder().executor(limited).build();
+        AtomicInteger invoked = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            limitedBus.register(TestEvent.class, e -> invoked.incrementAndGet(), EventPriority.NORMAL, false);
+        }
+
+        CompletableFuture<TestEvent> future = limitedBus.postAsync(new TestEvent("rejected"), AsyncMode.PER_HANDLER);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+        assertEquals(2, invoked.get(), "submitted handlers have finished when the future completes");
+    }
+
+    public static class VirtualSubscriber {
+        final CountDownLatch received = new CountDownLatch(1);
+        volatile boolean virtual;
+
+        @Subscriber(dispatch = DispatchMode.VIRTUAL)
+        public void onEvent(TestEvent event) {
+            virtual = Thread.currentThread().isVirtual();
+            received.countDown();
+        }
+    }
+
+    @Test
+    public void testVirtualSubscriberRunsOnVirtualThread() throws InterruptedException {
+        VirtualSubscriber subscriber = new VirtualSubscriber();
+        bus.register(subscriber);
+
+        bus.post(new TestEvent("virtual"));
+
+        assertTrue(subscriber.received.await(5, TimeUnit.SECONDS));
+        assertTrue(subscriber.virtual);
+    }
+
+    @Test
+    public void testVirtualBusDoesNotBlockPostingThread() throws InterruptedException {
+        EventBus virtualBus = EventBus.builder().dispatchMode(DispatchMode.VIRTUAL).build();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        virtualBus.register(TestEvent.class, e -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        }, EventPriority.NORMAL, false);
+
+        virtualBus.post(new TestEvent("blocking"));
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testVirtualDispatchRespectsMaxConcurrency() throws InterruptedException {
+        EventBus virtualBus = EventBus.builder().dispatchMode(DispatchMode.VIRTUAL).maxConcurrency(2).build();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(50);
+
+        virtualBus.register(TestEvent.class, e -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            done.countDown();
+        }, EventPriority.NORMAL, false);
+
+        for (int i = 0; i < 50; i++) virtualBus.post(new TestEvent("bounded"));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(maxRunning.get() <= 2, "at most two invocations may run at once");
+    }
+
+    @Test
+    public void testVirtualDispatchAtBoundBlocksPoster() throws InterruptedException {
+        EventBus virtualBus = EventBus.builder().dispatchMode(DispatchMode.VIRTUAL).maxConcurrency(1).build();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger invocations = new AtomicInteger();
+
+        virtualBus.register(TestEvent.class, e -> {
+            invocations.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }, EventPriority.NORMAL, false);
+
+        Thread poster = Thread.ofPlatform().start(() -> {
+            for (int i = 0; i < 3; i++) virtualBus.post(new TestEvent("burst"));
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (poster.getState() != Thread.State.WAITING && System.nanoTime() < deadline) Thread.sleep(1);
+        assertEquals(Thread.State.WAITING, poster.getState(), "the poster waits for a permit");
+        assertEquals(1, invocations.get());
+
+        release.countDown();
+        poster.join(5_000);
+        assertFalse(poster.isAlive());
+    }
+
+    public static class BatchSubscriber {
+        final List<List<TestEvent>> batches = new CopyOnWriteArrayList<>();
+
+        @Subscriber(batch = true, maxBatchSize = 3, maxBatchDelay = 0)
+        public void onEvents(List<TestEvent> events) {
+            batches.add(events);
+        }
+    }
+
+    @Test
+    public void testBatchSubscriberReceivesFullBatches() {
+        BatchSubscriber subscriber = new BatchSubscriber();
+        bus.register(subscriber);
+
+        for (int i = 0; i < 7; i++) bus.post(new TestEvent("event " + i));
+
+        assertEquals(2, subscriber.batches.size());
+        assertEquals(3, subscriber.batches.get(0).size());
+        assertEquals("event 3", subscriber.batches.get(1).get(0).getMessage());
+    }
+
+    @Test
+    public void testBatchConsumerFlushesAfterDelay() throws InterruptedException {
+        List<List<TestEvent>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch flushed = new CountDownLatch(1);
+
+        bus.register(TestEvent.class, events -> {
+            batches.add(events);
+            flushed.countDown();
+        }, EventPriority.NORMAL, 100, Duration.ofMillis(20));
+
+        bus.post(new TestEvent("first"));
+        bus.post(new TestEvent("second"));
+
+        assertTrue(flushed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+    }
+
+    @Test
+    public void testPartialBatchIsFlushedOnRemoval() {
+        BatchSubscriber subscriber = new BatchSubscriber();
+        bus.register(subscriber);
+        List<List<TestEvent>> batches = new CopyOnWriteArrayList<>();
+        ISubscription subscription = bus.register(TestEvent.class, batches::add, EventPriority.NORMAL, 10, Duration.ZERO);
+
+        bus.post(new TestEvent("pending"));
+        bus.unregister(subscriber);
+        subscription.close();
+
+        assertEquals(1, subscriber.batches.size());
+        assertEquals(1, batches.size());
+        assertEquals("pending", batches.get(0).get(0).getMessage());
+    }
+
+    @Test
+    public void testFullBatchIsDeliveredWithoutBlockingOtherPosters() throws InterruptedException {
+        CountDownLatch delivering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<List<TestEvent>> batches = new CopyOnWriteArrayList<>();
+        bus.register(TestEvent.class, events -> {
+            delivering.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batches.add(events);
+        }, EventPriority.NORMAL, 1, Duration.ZERO);
+
+        Thread slow = Thread.ofPlatform().start(() -> bus.post(new TestEvent("first")));
+        assertTrue(delivering.await(5, TimeUnit.SECONDS));
+
+        Thread other = Thread.ofPlatform().start(() -> bus.post(new TestEvent("second")));
+        other.join(5_000);
+        assertFalse(other.isAlive(), "a poster does not wait for another thread's delivery");
+
+        release.countDown();
+        slow.join(5_000);
+        assertEquals(2, batches.size());
+        assertEquals("second", batches.get(1).get(0).getMessage());
+    }
+
+    public static class UnkeyedConflatingSubscriber {
+        @Subscriber(conflate = true)
+        public void onEvent(TestEvent event) {
+        }
+    }
+
+    public static class QueuedConflatingSubscriber {
+        @Subscriber
+        public void onQuoteInline(Quote quote) {
+        }
+
+        @Subscriber(conflate = true, queueCapacity = 8)
+        public void onQuote(Quote quote) {
+        }
+    }
+
+    @Test
+    public void testInvalidConflationIsRejectedAtRegistration() {
+        QueuedConflatingSubscriber queued = new QueuedConflatingSubscriber();
+
+        assertThrows(IllegalArgumentException.class, () -> bus.register(new UnkeyedConflatingSubscriber()));
+        assertThrows(IllegalArgumentException.class, () -> bus.register(queued));
+        assertEquals(0, bus.countSubscribers(TestEvent.class));
+        assertEquals(0, bus.countSubscribers(Quote.class), "nothing of a rejected subscriber is registered");
+    }
+
+    @Test
+    public void testConflatingConsumerDeliversLatestEventPerKey() throws InterruptedException {
+        List<String> received = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+
+        bus.register(TestEvent.class, e -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(e.getMessage());
+            done.countDown();
+        }, EventPriority.NORMAL, false, e -> e.getMessage().charAt(0));
+
+        bus.post(new TestEvent("a0"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 5; i++) {
+            bus.post(new TestEvent("a" + i));
+            bus.post(new TestEvent("b" + i));
+        }
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("a0", "a5", "b5"), received);
+        assertEquals(8, bus.getConflatedCount(), "a1 to a4 and b1 to b4 were replaced");
+    }
+
+    public record Quote(@EventKey String symbol, double price) {
+    }
+
+    public static class QuoteSubscriber {
+        final List<Quote> quotes = new CopyOnWriteArrayList<>();
+        final CountDownLatch received = new CountDownLatch(1);
+
+        @Subscriber(conflate = true)
+        public void onQuote(Quote quote) {
+            quotes.add(quote);
+            received.countDown();
+        }
+    }
+
+    @Test
+    public void testConflatingSubscriberUsesEventKey() throws InterruptedException {
+        QuoteSubscriber subscriber = new QuoteSubscriber();
+        bus.register(subscriber);
+
+        bus.post(new Quote("NEB", 1.0));
+
+        assertTrue(subscriber.received.await(5, TimeUnit.SECONDS));
+        assertEquals(new Quote("NEB", 1.0), subscriber.quotes.get(0));
+        assertEquals("NEB", EventKeys.extract(new Quote("NEB", 2.0)));
+    }
+
+    public static class QueuedSubscriber {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> received = new CopyOnWriteArrayList<>();
+
+        @Subscriber(queueCapacity = 2, overflow = OverflowPolicy.DROP_NEWEST)
+        public void onEvent(TestEvent event) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(event.getMessage());
+        }
+    }
+
+    @Test
+    public void testQueuedSubscriberDropsOverflowingEvents() throws InterruptedException {
+        QueuedSubscriber subscriber = new QueuedSubscriber();
+        bus.register(subscriber);
+
+        for (int i = 0; i < 10; i++) bus.post(new TestEvent("event " + i));
+        subscriber.release.countDown();
+
+        // at most one event is being delivered and two more are queued
+        long dropped = bus.getOverflowCounters().getDroppedCount();
+        assertTrue(dropped >= 7);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (subscriber.received.size() + dropped < 10 && System.nanoTime() < deadline) Thread.sleep(1);
+
+        assertEquals("event 0", subscriber.received.get(0));
+        assertEquals(10, subscriber.received.size() + dropped);
+    }
+
+    public record Reading(int value) implements Serializable {
+    }
+
+    public static class SpillingSubscriber {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> received = new CopyOnWriteArrayList<>();
+
+        @Subscriber(queueCapacity = 1, overflow = OverflowPolicy.SPILL)
+        public void onReading(Reading reading) throws InterruptedException {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            received.add(reading.value());
+        }
+    }
+
+    @Test
+    public void testRemovedQueuedHandlerDiscardsItsQueueAndDiskBuffer() throws Exception {
+        Path directory = Files.createTempDirectory("nebula-spill-test");
+        EventBus spillBus = EventBus.builder().executor(executor).spillDirectory(directory).build();
+        SpillingSubscriber subscriber = new SpillingSubscriber();
+        spillBus.register(subscriber);
+
+        spillBus.post(new Reading(0));
+        assertTrue(subscriber.started.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 4; i++) spillBus.post(new Reading(i));
+        assertEquals(3, spillBus.getOverflowCounters().getSpilledCount());
+
+        spillBus.unregister(subscriber);
+        spillBus.post(new Reading(5));
+        subscriber.release.countDown();
+        Thread.sleep(50);
+
+        assertEquals(List.of(0), subscriber.received, "queued events of a removed handler are not delivered");
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count(), "the disk buffer should be deleted");
+        }
+        Files.delete(directory);
+    }
+
+    public static class MailboxSubscriber {
+        final CountDownLatch done = new CountDownLatch(2000);
+        final List<Integer> values = new ArrayList<>();
+        int messages;
+        boolean running;
+        boolean overlapped;
+
+        @Subscriber
+        public void onValue(Integer value) {
+            enter();
+            values.add(value);
+            leave();
+        }
+
+        @Subscriber
+        public void onMessage(TestEvent event) {
+            enter();
+            messages++;
+            leave();
+        }
+
+        private void enter() {
+            if (running) overlapped = true;
+            running = true;
+        }
+
+        private void leave() {
+            running = false;
+            done.countDown();
+        }
+    }
+
+    @Test
+    public void testMailboxSubscribersHandleEventsSerially() throws InterruptedException {
+        EventBus mailboxBus = EventBus.builder().executor(executor).dispatchMode(DispatchMode.MAILBOX).mailboxThroughput(8).build();
+        MailboxSubscriber first = new MailboxSubscriber();
+        MailboxSubscriber second = new MailboxSubscriber();
+        mailboxBus.register(first);
+        mailboxBus.register(second);
+
+        Thread producer = Thread.ofPlatform().start(() -> {
+            for (int i = 0; i < 1000; i++) mailboxBus.post(new TestEvent("message " + i));
+        });
+        for (int i = 0; i < 1000; i++) mailboxBus.post(i);
+        producer.join();
+
+        for (MailboxSubscriber subscriber : List.of(first, second)) {
+            assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+            assertFalse(subscriber.overlapped, "handlers of one subscriber must not overlap");
+            assertEquals(1000, subscriber.messages);
+            for (int i = 0; i < 1000; i++) assertEquals(Integer.valueOf(i), subscriber.values.get(i));
+        }
+    }
+
+    public static class BlockingMailboxSubscriber {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(2);
+        final List<String> order = new CopyOnWriteArrayList<>();
+        volatile boolean running;
+        volatile boolean overlapped;
+
+        @Subscriber(dispatch = DispatchMode.MAILBOX)
+        public void onEvent(TestEvent event) throws InterruptedException {
+            if (running) overlapped = true;
+            running = true;
+            started.countDown();
+            if (event.getMessage().equals("old")) release.await(5, TimeUnit.SECONDS);
+            order.add(event.getMessage());
+            running = false;
+            done.countDown();
+        }
+    }
+
+    @Test
+    public void testReregisteredSubscriberWaitsForItsDrainingMailbox() throws InterruptedException {
+        BlockingMailboxSubscriber subscriber = new BlockingMailboxSubscriber();
+        bus.register(subscriber);
+        bus.post(new TestEvent("old"));
+        assertTrue(subscriber.started.await(5, TimeUnit.SECONDS));
+
+        bus.unregister(subscriber);
+        bus.register(subscriber);
+        bus.post(new TestEvent("new"));
+        Thread.sleep(50);
+        subscriber.release.countDown();
+
+        assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+        assertFalse(subscriber.overlapped, "the new registration must not overlap the old one");
+        assertEquals(List.of("old", "new"), subscriber.order);
+    }
+
+    public static class TwoMailboxSubscriber {
+        final AtomicInteger handled = new AtomicInteger();
+        final AtomicInteger running = new AtomicInteger();
+        volatile boolean overlapped;
+
+        @Subscriber(dispatch = DispatchMode.MAILBOX)
+        public void onEvent(TestEvent event) {
+            handle();
+        }
+
+        @Subscriber(dispatch = DispatchMode.MAILBOX)
+        public void onValue(Integer value) {
+            handle();
+        }
+
+        private void handle() {
+            if (running.incrementAndGet() > 1) overlapped = true;
+            // busy long enough for the old mailbox to still drain while the next registration runs
+            long until = System.nanoTime() + 20_000;
+            while (System.nanoTime() < until) Thread.onSpinWait();
+            running.decrementAndGet();
+            handled.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void testReregisteredSubscriberKeepsOneMailboxForAllMethods() throws InterruptedException {
+        TwoMailboxSubscriber subscriber = new TwoMailboxSubscriber();
+        int cycles = 2000;
+
+        for (int i = 0; i < cycles; i++) {
+            bus.register(subscriber);
+            bus.post(new TestEvent("first"));
+            bus.post(i);
+            bus.post(new TestEvent("last"));
+            bus.unregister(subscriber);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (subscriber.handled.get() < 3 * cycles && System.nanoTime() < deadline) Thread.sleep(1);
+        assertEquals(3 * cycles, subscriber.handled.get());
+        assertFalse(subscriber.overlapped, "methods of one subscriber must share its draining mailbox");
+    }
+
+    public static class BandSubscriber {
+        final CountDownLatch band;
+        final boolean cancel;
+
+        BandSubscriber(CountDownLatch band, boolean cancel) {
+            this.band = band;
+            this.cancel = cancel;
+        }
+
+        @Subscriber(priority = EventPriority.HIGH)
+        public void onEvent(CancellableTestEvent event) {
+            awaitOthers(band);
+            if (cancel) event.setCancelled(true);
+        }
+    }
+
+    @Test
+    public void testParallelBandsRunEqualPrioritiesConcurrently() {
+        EventBus parallelBus = EventBus.builder().executor(executor).parallelBands(true).build();
+        CountDownLatch band = new CountDownLatch(3);
+        List<String> callOrder = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 3; i++) parallelBus.register(new BandSubscriber(band, false));
+        parallelBus.register(CancellableTestEvent.class, e -> callOrder.add("LOW " + band.getCount()), EventPriority.LOW, false);
+
+        parallelBus.post(new CancellableTestEvent("band"));
+
+        assertEquals(List.of("LOW 0"), callOrder);
+    }
+
+    @Test
+    public void testParallelBandsCheckCancellationBetweenBands() {
+        EventBus parallelBus = EventBus.builder().executor(executor).parallelBands(true).build();
+        CountDownLatch band = new CountDownLatch(2);
+        AtomicInteger lowCalls = new AtomicInteger();
+
+        parallelBus.register(new BandSubscriber(band, true));
+        parallelBus.register(new BandSubscriber(band, false));
+        parallelBus.register(CancellableTestEvent.class, e -> lowCalls.incrementAndGet(), EventPriority.LOW, false);
+
+        CancellableTestEvent event = new CancellableTestEvent("band");
+        parallelBus.post(event);
+
+        assertTrue(event.isCancelled());
+        assertEquals(0, band.getCount(), "the whole band runs even though the event was cancelled");
+        assertEquals(0, lowCalls.get());
+    }
+
+    @Test
+    public void testParallelBandsApplyToBatchPosts() {
+        EventBus parallelBus = EventBus.builder().executor(executor).parallelBands(true).build();
+        CountDownLatch band = new CountDownLatch(2);
+        List<String> lowCalls = new CopyOnWriteArrayList<>();
+
+        parallelBus.register(new BandSubscriber(band, false));
+        parallelBus.register(new BandSubscriber(band, false));
+        parallelBus.register(CancellableTestEvent.class, e -> lowCalls.add(e.getMessage()), EventPriority.LOW, false);
+
+        CancellableTestEvent cancelled = new CancellableTestEvent("cancelled");
+        parallelBus.register(CancellableTestEvent.class, e -> {
+            if (e == cancelled) e.setCancelled(true);
+        }, EventPriority.NORMAL, false);
+
+        parallelBus.postAll(new CancellableTestEvent[] { new CancellableTestEvent("first"), cancelled, new CancellableTestEvent("last") });
+
+        assertEquals(0, band.getCount());
+        assertEquals(List.of("first", "last"), lowCalls, "events cancelled by an earlier band are skipped");
+    }
+
+    static void awaitOthers(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "handlers should overlap");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail("interrupted");
+        }
+    }
+}
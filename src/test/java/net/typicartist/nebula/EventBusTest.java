@@ -3,8 +3,14 @@ package net.typicartist.nebula;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+
+import net.typicartist.nebula.consumer.ConsumerFactories;
+import net.typicartist.nebula.consumer.IConsumerFactory;
+import net.typicartist.nebula.consumer.IEventConsumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -165,4 +171,383 @@ public class EventBusTest {
 
         assertEquals(false, bus.hasSubscribers(TestEvent.class));
     }
-} 
+
+    public static class SubTestEvent extends TestEvent {
+        public SubTestEvent(String message) {
+            super(message);
+        }
+    }
+
+    @Test
+    void testHierarchyHandlersFollowPriority() {
+        List<String> callOrder = new ArrayList<>();
+
+        bus.register(SubTestEvent.class, e -> callOrder.add("sub LOW"), EventPriority.LOW, false);
+        bus.register(TestEvent.class, e -> callOrder.add("super HIGH"), EventPriority.HIGH, false);
+        bus.register(Object.class, e -> callOrder.add("object NORMAL"), EventPriority.NORMAL, false);
+
+        bus.post(new SubTestEvent("hierarchy"));
+
+        assertEquals(List.of("super HIGH", "object NORMAL", "sub LOW"), callOrder);
+    }
+
+    @Test
+    void testDispatchCacheInvalidatedOnRegistration() {
+        List<String> received = new ArrayList<>();
+        TestSubscriber subscriber = new TestSubscriber();
+
+        bus.post(new TestEvent("warm up"));
+        bus.register(TestEvent.class, e -> received.add(e.getMessage()), EventPriority.NORMAL, false);
+        bus.register(subscriber);
+        bus.post(new TestEvent("after register"));
+
+        assertEquals(List.of("after register"), received);
+        assertEquals("after register", subscriber.receivedMessage);
+
+        bus.unregister(subscriber);
+        bus.post(new TestEvent("after unregister"));
+
+        assertEquals("after register", subscriber.receivedMessage);
+    }
+
+    @Test
+    void testDispatchCacheInvalidatedForSubtypesOnly() {
+        List<String> received = new ArrayList<>();
+
+        bus.post(new SubTestEvent("warm up"));
+        bus.post(new CancellableTestEvent("warm up"));
+        bus.register(Object.class, e -> received.add("object"), EventPriority.NORMAL, false);
+        bus.register(TestEvent.class, e -> received.add("test"), EventPriority.LOW, false);
+        bus.post(new SubTestEvent("sub"));
+        bus.post(new CancellableTestEvent("unrelated"));
+
+        assertEquals(List.of("object", "test", "object"), received);
+    }
+
+    @Test
+    void testPostDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final int[] calls = {0};
+
+        bus.register(TestEvent.class, e -> calls[0]++, EventPriority.HIGH, false);
+        bus.register(Object.class, e -> calls[0]++, EventPriority.LOW, false);
+        bus.register(new TestSubscriber());
+
+        TestEvent event = new TestEvent("no garbage");
+        for (int i = 0; i < 200_000; i++) bus.post(event);
+
+        // a flight recording stopped by an earlier test can leave post running uncompiled for a while
+        long allocated = -1;
+        int rounds = 0;
+        while (allocated != 0 && rounds < 5) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < 100_000; i++) bus.post(event);
+            allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            rounds++;
+        }
+
+        assertEquals(0L, allocated, "post should not allocate per call");
+        assertEquals(2 * (200_000 + rounds * 100_000), calls[0]);
+    }
+
+    public static class PrivateSubscriber {
+        private String receivedMessage;
+
+        @Subscriber
+        private void onEvent(TestEvent event) {
+            this.receivedMessage = event.getMessage();
+        }
+    }
+
+    @Test
+    void testPrivateSubscriberMethod() {
+        PrivateSubscriber subscriber = new PrivateSubscriber();
+        bus.register(subscriber);
+
+        bus.post(new TestEvent("private"));
+
+        assertEquals("private", subscriber.receivedMessage);
+    }
+
+    @Test
+    void testRegisterManyInstancesOfSameClass() {
+        List<TestSubscriber> subscribers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            TestSubscriber subscriber = new TestSubscriber();
+            subscribers.add(subscriber);
+            bus.register(subscriber);
+        }
+
+        bus.post(new TestEvent("everyone"));
+
+        for (TestSubscriber subscriber : subscribers) {
+            assertEquals("everyone", subscriber.receivedMessage);
+        }
+    }
+
+    @Test
+    void testUnregisterOnlyRemovesOwnHandlers() {
+        TestSubscriber first = new TestSubscriber();
+        TestSubscriber second = new TestSubscriber();
+        final String[] consumerResult = {null};
+
+        bus.register(first);
+        bus.register(second);
+        bus.register(TestEvent.class, e -> consumerResult[0] = e.getMessage(), EventPriority.LOW, false);
+
+        bus.unregister(first);
+        bus.post(new TestEvent("remaining"));
+
+        assertNull(first.receivedMessage);
+        assertEquals("remaining", second.receivedMessage);
+        assertEquals("remaining", consumerResult[0]);
+        assertEquals(2, bus.countSubscribers(TestEvent.class));
+    }
+
+    @Test
+    void testSubscribeAndUnsubscribe() {
+        TestSubscriber subscriber = new TestSubscriber();
+        bus.register(subscriber);
+
+        bus.unsubscribe(subscriber);
+        bus.post(new TestEvent("inactive"));
+        assertNull(subscriber.receivedMessage);
+
+        bus.subscribe(subscriber);
+        bus.post(new TestEvent("active"));
+        assertEquals("active", subscriber.receivedMessage);
+    }
+
+    @Test
+    void testSubscriptionRemovesOnlyItsHandler() {
+        List<String> received = new ArrayList<>();
+
+        ISubscription first = bus.register(TestEvent.class, e -> received.add("first"), EventPriority.HIGH, false);
+        bus.register(TestEvent.class, e -> received.add("second"), EventPriority.LOW, false);
+
+        first.close();
+        bus.post(new TestEvent("closed"));
+
+        assertEquals(List.of("second"), received);
+        assertEquals(1, bus.countSubscribers(TestEvent.class));
+    }
+
+    @Test
+    void testSubscriptionPauseAndResume() {
+        final int[] calls = {0};
+
+        try (ISubscription subscription = bus.register(TestEvent.class, e -> calls[0]++, EventPriority.NORMAL, false)) {
+            subscription.pause();
+            bus.post(new TestEvent("paused"));
+            assertFalse(subscription.isActive());
+
+            subscription.resume();
+            bus.post(new TestEvent("resumed"));
+            assertTrue(subscription.isActive());
+        }
+
+        bus.post(new TestEvent("closed"));
+
+        assertEquals(1, calls[0]);
+        assertFalse(bus.hasSubscribers(TestEvent.class));
+    }
+
+    @Test
+    void testPostAllKeepsOrderPerHandler() {
+        List<String> high = new ArrayList<>();
+        List<String> low = new ArrayList<>();
+
+        bus.register(TestEvent.class, e -> high.add(e.getMessage()), EventPriority.HIGH, false);
+        bus.register(TestEvent.class, e -> low.add(e.getMessage()), EventPriority.LOW, false);
+
+        bus.postAll(List.of(new TestEvent("a"), new SubTestEvent("b"), new SubTestEvent("c"), new TestEvent("d")));
+
+        assertEquals(List.of("a", "b", "c", "d"), high);
+        assertEquals(List.of("a", "b", "c", "d"), low);
+    }
+
+    @Test
+    void testPostAllRespectsCancellationPerEvent() {
+        List<String> received = new ArrayList<>();
+
+        bus.register(CancellableTestEvent.class, e -> {
+            if (e.getMessage().startsWith("cancel")) e.cancel();
+        }, EventPriority.HIGH, false);
+        bus.register(CancellableTestEvent.class, e -> received.add(e.getMessage()), EventPriority.LOW, false);
+
+        bus.postAll(new CancellableTestEvent[] {
+                new CancellableTestEvent("keep 1"),
+                new CancellableTestEvent("cancel 2"),
+                new CancellableTestEvent("keep 3")
+        });
+
+        assertEquals(List.of("keep 1", "keep 3"), received);
+    }
+
+    @Test
+    void testPostAllOnceHandlerSeesFirstEventOnly() {
+        List<String> received = new ArrayList<>();
+        bus.register(TestEvent.class, e -> received.add(e.getMessage()), EventPriority.NORMAL, true);
+
+        bus.postAll(List.of(new TestEvent("first"), new TestEvent("second")));
+
+        assertEquals(List.of("first"), received);
+        assertFalse(bus.hasSubscribers(TestEvent.class));
+    }
+
+    @Test
+    public void testThousandsOfSamePriorityConsumersRunInRegistrationOrder() {
+        List<Integer> callOrder = new ArrayList<>();
+        List<ISubscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            int index = i;
+            subscriptions.add(bus.register(TestEvent.class, e -> callOrder.add(index), EventPriority.NORMAL, false));
+        }
+        assertEquals(5000, bus.countSubscribers(TestEvent.class));
+
+        bus.post(new TestEvent("fifo"));
+
+        assertEquals(5000, callOrder.size());
+        for (int i = 0; i < 5000; i++) assertEquals(Integer.valueOf(i), callOrder.get(i));
+
+        subscriptions.get(2500).close();
+        callOrder.clear();
+        bus.post(new TestEvent("fifo"));
+
+        assertEquals(4999, callOrder.size());
+        assertEquals(Integer.valueOf(2499), callOrder.get(2499));
+        assertEquals(Integer.valueOf(2501), callOrder.get(2500));
+    }
+
+    public static class OrderedSubscriber {
+        final int index;
+        final List<Integer> callOrder;
+
+        OrderedSubscriber(int index, List<Integer> callOrder) {
+            this.index = index;
+            this.callOrder = callOrder;
+        }
+
+        @Subscriber
+        public void onEvent(TestEvent event) {
+            callOrder.add(index);
+        }
+    }
+
+    @Test
+    public void testThousandsOfSamePrioritySubscribersAreAllInvoked() {
+        List<Integer> callOrder = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) bus.register(new OrderedSubscriber(i, callOrder));
+        bus.register(TestEvent.class, e -> callOrder.add(-1), EventPriority.HIGH, false);
+
+        bus.post(new TestEvent("fifo"));
+
+        assertEquals(3001, callOrder.size());
+        assertEquals(Integer.valueOf(-1), callOrder.get(0));
+        for (int i = 0; i < 3000; i++) assertEquals(Integer.valueOf(i), callOrder.get(i + 1));
+    }
+
+    public static class StageSubscriber {
+        final List<String> callOrder;
+
+        StageSubscriber(List<String> callOrder) {
+            this.callOrder = callOrder;
+        }
+
+        @Subscriber(priority = EventPriority.LOWEST, order = 51)
+        public void onParse(TestEvent event) {
+            callOrder.add("51");
+        }
+
+        @Subscriber(order = -10)
+        public void onAudit(TestEvent event) {
+            callOrder.add("-10");
+        }
+    }
+
+    @Test
+    public void testIntegerPrioritiesOrderBetweenEnumValues() {
+        List<String> callOrder = new ArrayList<>();
+        bus.register(new StageSubscriber(callOrder));
+        bus.register(TestEvent.class, e -> callOrder.add("NORMAL"), EventPriority.NORMAL, false);
+        bus.register(TestEvent.class, e -> callOrder.add("49"), 49, false);
+        bus.register(TestEvent.class, e -> callOrder.add("HIGH"), EventPriority.HIGH, false);
+        bus.register(TestEvent.class, e -> callOrder.add("1000"), 1000, false);
+
+        bus.post(new TestEvent("stages"));
+
+        assertEquals(List.of("1000", "HIGH", "51", "NORMAL", "49", "-10"), callOrder);
+    }
+
+    public static class ChildEvent extends TestEvent {
+        public ChildEvent(String message) {
+            super(message);
+        }
+    }
+
+    @Test
+    public void testDeadEventsAreCountedAndPostedAgain() {
+        EventBus deadBus = EventBus.builder().deadEvents(true).build();
+        List<Object> dead = new ArrayList<>();
+        deadBus.register(DeadEvent.class, e -> dead.add(e.getEvent()), EventPriority.NORMAL, false);
+
+        TestEvent unheard = new TestEvent("nobody listens");
+        deadBus.post(unheard);
+        deadBus.postAll(new Object[] { new ChildEvent("a"), new ChildEvent("b") });
+
+        ISubscription subscription = deadBus.register(TestEvent.class, e -> {}, EventPriority.NORMAL, false);
+        subscription.pause();
+        deadBus.post(new TestEvent("paused"));
+        subscription.resume();
+        deadBus.post(new ChildEvent("received through the supertype"));
+
+        assertEquals(4, dead.size());
+        assertSame(unheard, dead.get(0));
+        assertEquals(Long.valueOf(2), deadBus.getDeadEventCounts().get(TestEvent.class));
+        assertEquals(Long.valueOf(2), deadBus.getDeadEventCounts().get(ChildEvent.class));
+        assertNull(deadBus.getDeadEventCounts().get(DeadEvent.class));
+    }
+
+    @Test
+    public void testDeadEventsAreCountedWithoutBeingPosted() {
+        bus.post(new TestEvent("unheard"));
+        bus.post(new DeadEvent(bus, "not wrapped again"));
+
+        assertEquals(Map.of(TestEvent.class, 1L), bus.getDeadEventCounts());
+    }
+
+    @Test
+    public void testHasReceiversCoversHierarchy() {
+        assertFalse(bus.hasReceivers(ChildEvent.class));
+
+        ISubscription subscription = bus.register(Object.class, e -> {}, EventPriority.NORMAL, false);
+        assertTrue(bus.hasReceivers(ChildEvent.class));
+        assertFalse(bus.hasSubscribers(ChildEvent.class));
+
+        subscription.pause();
+        assertFalse(bus.hasReceivers(ChildEvent.class), "paused handlers receive nothing");
+    }
+
+    public static class ThrowingSubscriber {
+        @Subscriber
+        public void onEvent(TestEvent event) throws java.io.IOException {
+            throw new java.io.IOException(event.getMessage());
+        }
+    }
+
+    @Test
+    public void testCheckedExceptionsAreWrappedByEveryConsumerStrategy() throws Exception {
+        java.lang.reflect.Method method = ThrowingSubscriber.class.getMethod("onEvent", TestEvent.class);
+        ThrowingSubscriber subscriber = new ThrowingSubscriber();
+
+        for (IConsumerFactory factory : List.of(ConsumerFactories.lambda(method), ConsumerFactories.methodHandle(method))) {
+            IEventConsumer<Object> consumer = factory.bind(subscriber);
+            RuntimeException e = assertThrows(RuntimeException.class, () -> consumer.accept(new TestEvent("checked")));
+            assertTrue(e.getCause() instanceof java.io.IOException);
+        }
+
+        bus.register(subscriber);
+        RuntimeException e = assertThrows(RuntimeException.class, () -> bus.post(new TestEvent("posted")));
+        assertEquals("posted", e.getCause().getMessage());
+    }
+}
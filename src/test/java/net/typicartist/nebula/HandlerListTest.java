@@ -0,0 +1,146 @@
+package net.typicartist.nebula;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import net.typicartist.nebula.handler.IEventHandler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HandlerListTest {
+
+    private static final Comparator<IEventHandler> ORDER = Comparator.comparingInt(IEventHandler::getPriority).reversed();
+
+    @Test
+    public void testKeepsPriorityAndInsertionOrder() {
+        HandlerList list = new HandlerList(ORDER);
+        IEventHandler low = new StubHandler(EventPriority.LOW.getValue());
+        IEventHandler first = new StubHandler(EventPriority.NORMAL.getValue());
+        IEventHandler second = new StubHandler(EventPriority.NORMAL.getValue());
+        IEventHandler high = new StubHandler(EventPriority.HIGH.getValue());
+
+        assertTrue(list.add(low));
+        assertTrue(list.add(first));
+        assertTrue(list.add(second));
+        assertTrue(list.add(high));
+        assertFalse(list.add(first), "a handler is stored once");
+
+        assertArrayEquals(new IEventHandler[] { high, first, second, low }, list.snapshot());
+    }
+
+    @Test
+    public void testRemovePublishesNewSnapshot() {
+        HandlerList list = new HandlerList(ORDER);
+        IEventHandler first = new StubHandler(0);
+        IEventHandler second = new StubHandler(0);
+        list.add(first);
+        list.add(second);
+
+        IEventHandler[] before = list.snapshot();
+        assertTrue(list.remove(first));
+        assertFalse(list.remove(first));
+
+        assertEquals(2, before.length, "published snapshots are never modified");
+        assertArrayEquals(new IEventHandler[] { second }, list.snapshot());
+        assertTrue(list.remove(second));
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testRemoveFindsHandlerAmongEqualOnes() {
+        HandlerList list = new HandlerList(ORDER);
+        IEventHandler[] handlers = new IEventHandler[30];
+        for (int i = 0; i < handlers.length; i++) {
+            handlers[i] = new StubHandler(i % 3);
+            list.add(handlers[i]);
+        }
+
+        for (int i = handlers.length - 1; i >= 0; i -= 2) {
+            assertTrue(list.remove(handlers[i]));
+        }
+        assertFalse(list.remove(handlers[handlers.length - 1]));
+
+        IEventHandler[] remaining = list.snapshot();
+        assertEquals(handlers.length / 2, remaining.length);
+        for (int i = 1; i < remaining.length; i++) {
+            assertTrue(remaining[i - 1].getPriority() >= remaining[i].getPriority());
+        }
+        for (int i = 0; i < handlers.length; i += 2) {
+            assertFalse(list.add(handlers[i]), "remaining handlers are still found");
+        }
+    }
+
+    @Test
+    public void testAddAllMergesInOrderWithOneSnapshot() {
+        HandlerList list = new HandlerList(ORDER);
+        IEventHandler present = new StubHandler(EventPriority.NORMAL.getValue());
+        IEventHandler high = new StubHandler(EventPriority.HIGH.getValue());
+        IEventHandler normal = new StubHandler(EventPriority.NORMAL.getValue());
+        IEventHandler low = new StubHandler(EventPriority.LOW.getValue());
+        list.add(present);
+
+        assertTrue(list.addAll(List.of(low, normal, high, present)));
+        assertFalse(list.addAll(List.of(low, present)), "present handlers are stored once");
+
+        assertArrayEquals(new IEventHandler[] { high, present, normal, low }, list.snapshot());
+    }
+
+    @Test
+    public void testRemoveAllKeepsTheOtherHandlers() {
+        HandlerList list = new HandlerList(ORDER);
+        IEventHandler first = new StubHandler(0);
+        IEventHandler second = new StubHandler(0);
+        IEventHandler third = new StubHandler(1);
+        list.addAll(List.of(first, second, third));
+
+        assertTrue(list.removeAll(List.of(first, third, first)));
+        assertFalse(list.removeAll(List.of(first)));
+        assertArrayEquals(new IEventHandler[] { second }, list.snapshot());
+
+        assertTrue(list.removeAll(List.of(second)));
+        assertTrue(list.isEmpty());
+    }
+
+    private static final class StubHandler implements IEventHandler {
+        private final int priority;
+
+        StubHandler(int priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public Class<?> getEventType() {
+            return Object.class;
+        }
+
+        @Override
+        public boolean isOnce() {
+            return false;
+        }
+
+        @Override
+        public boolean isActive() {
+            return true;
+        }
+
+        @Override
+        public void setActive(boolean active) {
+        }
+
+        @Override
+        public void invoke(Object event) {
+        }
+
+        @Override
+        public Object getSubscriber() {
+            return null;
+        }
+    }
+}
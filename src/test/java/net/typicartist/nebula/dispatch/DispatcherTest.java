@@ -0,0 +1,259 @@
+package net.typicartist.nebula.dispatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.typicartist.nebula.EventBus;
+import net.typicartist.nebula.EventKey;
+import net.typicartist.nebula.EventPriority;
+import net.typicartist.nebula.OverflowPolicy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DispatcherTest {
+
+    private EventBus bus;
+
+    @BeforeEach
+    public void setUp() {
+        bus = new EventBus();
+    }
+
+    public record Tick(int producer, long value) implements Serializable {
+    }
+
+    @Test
+    public void testRingBufferSingleConsumerKeepsOrder() {
+        List<Long> received = new ArrayList<>();
+        bus.register(Tick.class, t -> received.add(t.value()), EventPriority.NORMAL, false);
+
+        try (RingBufferDispatcher dispatcher = new RingBufferDispatcher(bus, 64, WaitStrategy.YIELD, 1)) {
+            for (long i = 0; i < 10_000; i++) dispatcher.dispatch(new Tick(0, i));
+        }
+
+        assertEquals(10_000, received.size());
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(Long.valueOf(i), received.get(i));
+        }
+    }
+
+    @Test
+    public void testRingBufferMultipleProducersAndConsumers() throws InterruptedException {
+        LongAdder count = new LongAdder();
+        LongAdder sum = new LongAdder();
+        bus.register(Tick.class, t -> {
+            count.increment();
+            sum.add(t.value());
+        }, EventPriority.NORMAL, false);
+
+        int producers = 4;
+        int perProducer = 50_000;
+
+        try (RingBufferDispatcher dispatcher = new RingBufferDispatcher(bus, 1024, WaitStrategy.PARK, 3)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                threads.add(Thread.ofPlatform().start(() -> {
+                    for (long i = 1; i <= perProducer; i++) dispatcher.dispatch(new Tick(producer, i));
+                }));
+            }
+            for (Thread thread : threads) thread.join();
+        }
+
+        assertEquals((long) producers * perProducer, count.sum());
+        assertEquals(producers * ((long) perProducer * (perProducer + 1) / 2), sum.sum());
+    }
+
+    @Test
+    public void testRingBufferRejectsEventsAfterClose() {
+        RingBufferDispatcher dispatcher = new RingBufferDispatcher(bus, 8, WaitStrategy.BUSY_SPIN, 1);
+        dispatcher.close();
+
+        assertThrows(IllegalStateException.class, () -> dispatcher.dispatch(new Tick(0, 0)));
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferDispatcher(bus, 12, WaitStrategy.PARK, 1));
+    }
+
+    @Test
+    public void testBoundedQueueDropsOldestEvents() {
+        List<Runnable> tasks = new ArrayList<>();
+        List<Long> received = new ArrayList<>();
+        BoundedQueueConsumer<Tick> queue = new BoundedQueueConsumer<>(t -> received.add(t.value()), 2, OverflowPolicy.DROP_OLDEST, tasks::add);
+
+        for (long i = 0; i < 5; i++) queue.accept(new Tick(0, i));
+        tasks.forEach(Runnable::run);
+
+        assertEquals(List.of(3L, 4L), received);
+        assertEquals(3, queue.getCounters().getDroppedCount());
+    }
+
+    @Test
+    public void testBoundedQueueDropsNewestEvents() {
+        List<Runnable> tasks = new ArrayList<>();
+        List<Long> received = new ArrayList<>();
+        BoundedQueueConsumer<Tick> queue = new BoundedQueueConsumer<>(t -> received.add(t.value()), 2, OverflowPolicy.DROP_NEWEST, tasks::add);
+
+        for (long i = 0; i < 5; i++) queue.accept(new Tick(0, i));
+        tasks.forEach(Runnable::run);
+
+        assertEquals(List.of(0L, 1L), received);
+        assertEquals(3, queue.getCounters().getDroppedCount());
+    }
+
+    @Test
+    public void testBoundedQueueFailsFast() {
+        List<Runnable> tasks = new ArrayList<>();
+        BoundedQueueConsumer<Tick> queue = new BoundedQueueConsumer<>(t -> {}, 1, OverflowPolicy.FAIL, tasks::add);
+
+        queue.accept(new Tick(0, 0));
+        assertThrows(RejectedExecutionException.class, () -> queue.accept(new Tick(0, 1)));
+        assertEquals(1, queue.getCounters().getRejectedCount());
+    }
+
+    @Test
+    public void testBoundedQueueSpillsToDiskInOrder() throws Exception {
+        Path directory = Files.createTempDirectory("nebula-spill-test");
+        List<Runnable> tasks = new ArrayList<>();
+        List<Long> received = new ArrayList<>();
+
+        try (BoundedQueueConsumer<Tick> queue = new BoundedQueueConsumer<>(t -> received.add(t.value()), 2, OverflowPolicy.SPILL,
+                tasks::add, new OverflowCounters(), directory)) {
+            for (long i = 0; i < 10; i++) queue.accept(new Tick(0, i));
+
+            assertEquals(10, queue.size());
+            assertEquals(8, queue.getCounters().getSpilledCount());
+
+            // drains reschedule themselves after a bounded number of events
+            for (int i = 0; i < tasks.size(); i++) tasks.get(i).run();
+        }
+
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), received);
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count(), "the disk buffer should be deleted");
+        }
+    }
+
+    @Test
+    public void testBoundedDispatcherBlocksProducer() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> received = new CopyOnWriteArrayList<>();
+        bus.register(Tick.class, t -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(t.value());
+        }, EventPriority.NORMAL, false);
+
+        BoundedDispatcher dispatcher = new BoundedDispatcher(bus, 1, OverflowPolicy.BLOCK, executor);
+        try (dispatcher) {
+            Thread producer = Thread.ofPlatform().start(() -> {
+                for (long i = 0; i < 3; i++) dispatcher.dispatch(new Tick(0, i));
+            });
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (dispatcher.getCounters().getBlockedCount() == 0 && System.nanoTime() < deadline) Thread.sleep(1);
+
+            release.countDown();
+            producer.join();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(dispatcher.getCounters().getBlockedCount() > 0);
+        assertEquals(List.of(0L, 1L, 2L), received);
+    }
+
+    @Test
+    public void testMailboxYieldsAfterThroughput() {
+        List<Runnable> tasks = new ArrayList<>();
+        List<Integer> ran = new ArrayList<>();
+        Mailbox mailbox = new Mailbox(tasks::add, 2);
+
+        for (int i = 0; i < 5; i++) {
+            int task = i;
+            mailbox.execute(() -> ran.add(task));
+        }
+        assertEquals(1, tasks.size(), "a mailbox is scheduled once at a time");
+
+        tasks.get(0).run();
+        assertEquals(List.of(0, 1), ran);
+        assertEquals(2, tasks.size(), "a busy mailbox queues itself again");
+
+        for (int i = 1; i < tasks.size(); i++) tasks.get(i).run();
+        assertEquals(List.of(0, 1, 2, 3, 4), ran);
+        assertTrue(mailbox.isEmpty());
+    }
+
+    @Test
+    public void testPartitionedDispatcherKeepsOrderPerKey() throws InterruptedException {
+        int keys = 8;
+        List<List<Long>> received = new ArrayList<>();
+        for (int i = 0; i < keys; i++) received.add(new ArrayList<>());
+        bus.register(Tick.class, t -> {
+            List<Long> values = received.get(t.producer());
+            // a key is only ever delivered by the thread of its partition
+            synchronized (values) {
+                values.add(t.value());
+            }
+        }, EventPriority.NORMAL, false);
+
+        PartitionedDispatcher dispatcher = PartitionedDispatcher.builder(bus)
+                .partitions(4)
+                .bufferSize(64)
+                .key(Tick.class, Tick::producer)
+                .build();
+        try (dispatcher) {
+            List<Thread> producers = new ArrayList<>();
+            for (int p = 0; p < 2; p++) {
+                int first = p * keys / 2;
+                producers.add(Thread.ofPlatform().start(() -> {
+                    for (long i = 0; i < 5_000; i++) {
+                        for (int key = first; key < first + keys / 2; key++) dispatcher.dispatch(new Tick(key, i));
+                    }
+                }));
+            }
+            for (Thread producer : producers) producer.join();
+        }
+
+        for (List<Long> values : received) {
+            synchronized (values) {
+                assertEquals(5_000, values.size());
+                for (int i = 0; i < values.size(); i++) assertEquals(Long.valueOf(i), values.get(i));
+            }
+        }
+        assertEquals(keys * 5_000L, Arrays.stream(dispatcher.getPartitionCounts()).sum());
+        assertTrue(dispatcher.getSkew() >= 1.0);
+    }
+
+    public record Order(@EventKey String account, int amount) {
+    }
+
+    @Test
+    public void testPartitionedDispatcherRoutesByEventKey() {
+        PartitionedDispatcher dispatcher = PartitionedDispatcher.builder(bus).partitions(3).build();
+        try (dispatcher) {
+            assertEquals(dispatcher.partitionOf(new Order("a", 1)), dispatcher.partitionOf(new Order("a", 2)));
+            assertThrows(IllegalArgumentException.class, () -> dispatcher.dispatch("no key"));
+
+            for (int i = 0; i < 30; i++) dispatcher.dispatch(new Order("same", i));
+        }
+
+        assertEquals(3.0, dispatcher.getSkew(), 1e-9);
+    }
+}
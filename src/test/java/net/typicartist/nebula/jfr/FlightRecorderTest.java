@@ -0,0 +1,125 @@
+package net.typicartist.nebula.jfr;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import net.typicartist.nebula.DispatchMode;
+import net.typicartist.nebula.EventBus;
+import net.typicartist.nebula.Subscriber;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightRecorderTest {
+
+    public record Ping(int value) {
+    }
+
+    public static class PingSubscriber {
+        @Subscriber(order = 7)
+        public void onPing(Ping ping) {
+        }
+
+        @Subscriber(dispatch = DispatchMode.MAILBOX)
+        public void onPingLater(Ping ping) {
+        }
+    }
+
+    @Test
+    public void testBusEmitsFlightRecorderEvents() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        EventBus bus = EventBus.builder().executor(executor).build();
+        PingSubscriber subscriber = new PingSubscriber();
+        Path file = Files.createTempFile("nebula", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("Post", "HandlerInvocation", "HandOff", "Registration")) {
+                recording.enable("net.typicartist.nebula." + name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+
+            bus.register(subscriber);
+            bus.post(new Ping(1));
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            bus.unregister(subscriber);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        RecordedEvent post = single(events, "Post");
+        assertEquals(Ping.class.getName(), post.getClass("eventClass").getName());
+        assertEquals(2, post.getInt("handlers"));
+
+        List<RecordedEvent> invocations = named(events, "HandlerInvocation");
+        assertEquals(2, invocations.size(), "synchronous and asynchronous handlers are both recorded");
+        RecordedEvent sync = invocations.stream().filter(e -> e.getString("method").equals("onPing")).findFirst().orElseThrow();
+        assertEquals(PingSubscriber.class.getName(), sync.getClass("subscriber").getName());
+        assertEquals(7, sync.getInt("priority"));
+
+        assertEquals("onPingLater", single(events, "HandOff").getString("method"));
+
+        List<RecordedEvent> registrations = named(events, "Registration");
+        assertEquals(4, registrations.size());
+        assertEquals(2, registrations.stream().filter(e -> e.getBoolean("registered")).count());
+    }
+
+    public static class LaterSubscriber {
+        @Subscriber(dispatch = DispatchMode.MAILBOX)
+        public void onPingLater(Ping ping) {
+        }
+    }
+
+    @Test
+    public void testFailedHandOffIsStillRecorded() throws Exception {
+        Executor rejecting = task -> {
+            throw new RejectedExecutionException("full");
+        };
+        EventBus bus = EventBus.builder().executor(rejecting).build();
+        Path file = Files.createTempFile("nebula", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("net.typicartist.nebula.HandOff").withThreshold(Duration.ZERO);
+            recording.start();
+
+            bus.register(new LaterSubscriber());
+            try {
+                bus.post(new Ping(1));
+            } catch (RejectedExecutionException expected) {
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        assertEquals("onPingLater", single(events, "HandOff").getString("method"));
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals("net.typicartist.nebula." + name)).toList();
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matches = named(events, name);
+        assertEquals(1, matches.size(), name);
+        return matches.get(0);
+    }
+}
@@ -0,0 +1,113 @@
+package net.typicartist.nebula.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import net.typicartist.nebula.DispatchMode;
+import net.typicartist.nebula.EventBus;
+import net.typicartist.nebula.EventPriority;
+import net.typicartist.nebula.Subscriber;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+
+    public record Ping(int value) {
+    }
+
+    public static class PingSubscriber {
+        public int received;
+
+        @Subscriber
+        public void onPing(Ping ping) {
+            received++;
+        }
+
+        @Subscriber(dispatch = DispatchMode.MAILBOX)
+        public void onPingAsync(Ping ping) {
+        }
+    }
+
+    @Test
+    public void testHistogramBucketsCoverValues() {
+        for (long value : new long[] { 0, 1, 7, 8, 9, 15, 16, 1_000, 123_456_789L, Long.MAX_VALUE }) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(LatencyHistogram.lowerBoundOf(bucket) <= value, "lower bound of " + value);
+            assertTrue(LatencyHistogram.upperBoundOf(bucket) >= value, "upper bound of " + value);
+        }
+        assertEquals(LatencyHistogram.bucketOf(16), LatencyHistogram.bucketOf(17));
+        assertTrue(LatencyHistogram.bucketOf(18) > LatencyHistogram.bucketOf(16));
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(50));
+
+        for (int i = 0; i < 99; i++) histogram.record(100);
+        histogram.record(1_000_000);
+
+        assertEquals(100, histogram.getCount());
+        long median = histogram.getValueAtPercentile(50);
+        assertTrue(median >= 100 && median <= 112, "median " + median);
+        assertTrue(histogram.getValueAtPercentile(100) >= 1_000_000);
+    }
+
+    @Test
+    public void testBusRecordsHandlerAndPostLatencies() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        EventMetrics metrics = new EventMetrics();
+        EventBus bus = EventBus.builder().executor(executor).metrics(metrics).build();
+        PingSubscriber subscriber = new PingSubscriber();
+
+        try {
+            bus.register(subscriber);
+            bus.register(Ping.class, p -> {}, EventPriority.LOW, false);
+            for (int i = 0; i < 10; i++) bus.post(new Ping(i));
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(10, subscriber.received);
+        LatencyStats sync = metrics.getHandlerStats().get(new HandlerKey(PingSubscriber.class, "onPing", Ping.class));
+        LatencyStats async = metrics.getHandlerStats().get(new HandlerKey(PingSubscriber.class, "onPingAsync", Ping.class));
+        assertEquals(10, sync.getCount());
+        assertEquals(10, async.getCount(), "asynchronous handlers are measured where they run");
+        assertEquals(3, metrics.getHandlerStats().size());
+        assertTrue(sync.getMaxNanos() >= 0 && sync.getTotalNanos() >= sync.getMaxNanos());
+
+        LatencyStats posts = metrics.getPostStats().get(Ping.class);
+        assertEquals(10, posts.getCount());
+        assertEquals(10, posts.getHistogram().getCount());
+    }
+
+    @Test
+    public void testBatchPostsRecordEveryEvent() {
+        EventMetrics metrics = new EventMetrics();
+        EventBus bus = EventBus.builder().metrics(metrics).build();
+        bus.register(Ping.class, p -> {}, EventPriority.NORMAL, false);
+
+        Ping[] pings = new Ping[10];
+        for (int i = 0; i < pings.length; i++) pings[i] = new Ping(i);
+        bus.postAll(pings);
+
+        assertEquals(10, metrics.getPostStats().get(Ping.class).getCount());
+        assertEquals(10, metrics.getHandlerStats().values().iterator().next().getCount());
+    }
+
+    @Test
+    public void testBatchConsumersAreKeyedByTheirOwnClass() {
+        EventMetrics metrics = new EventMetrics();
+        EventBus bus = EventBus.builder().metrics(metrics).build();
+        bus.register(Ping.class, pings -> {}, EventPriority.NORMAL, 1, java.time.Duration.ZERO);
+        bus.post(new Ping(1));
+
+        HandlerKey key = metrics.getHandlerStats().keySet().iterator().next();
+        assertTrue(key.subscriberClass().getName().startsWith(MetricsTest.class.getName()), key.toString());
+        assertEquals(1, metrics.getHandlerStats().get(key).getCount());
+    }
+}
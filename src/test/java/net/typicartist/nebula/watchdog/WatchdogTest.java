@@ -0,0 +1,207 @@
+package net.typicartist.nebula.watchdog;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.typicartist.nebula.DispatchMode;
+import net.typicartist.nebula.EventBus;
+import net.typicartist.nebula.EventPriority;
+import net.typicartist.nebula.Subscriber;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WatchdogTest {
+
+    public record Request(int id) {
+    }
+
+    public static class SlowPlugin {
+        @Subscriber
+        public void onRequest(Request request) {
+            pause(150);
+        }
+    }
+
+    public static class SlowAsyncPlugin {
+        @Subscriber(dispatch = DispatchMode.MAILBOX)
+        public void onRequestLater(Request request) {
+            pause(150);
+        }
+    }
+
+    public static class VirtualPlugin {
+        final AtomicInteger handled = new AtomicInteger();
+
+        @Subscriber(dispatch = DispatchMode.VIRTUAL)
+        public void onRequest(Request request) {
+            handled.incrementAndGet();
+        }
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void testReportsSlowSynchronousHandlerWithStack() throws InterruptedException {
+        BlockingQueue<SlowHandlerReport> reports = new LinkedBlockingQueue<>();
+        SlowPlugin plugin = new SlowPlugin();
+
+        try (HandlerWatchdog watchdog = HandlerWatchdog.builder(Duration.ofMillis(30)).listener(reports::add).build()) {
+            EventBus bus = EventBus.builder().watchdog(watchdog).build();
+            bus.register(plugin);
+            bus.register(Request.class, r -> {}, EventPriority.HIGH, false);
+
+            Request request = new Request(1);
+            bus.post(request);
+
+            SlowHandlerReport report = reports.poll(5, TimeUnit.SECONDS);
+            assertNotNull(report);
+            assertEquals("onRequest", report.handler().method());
+            assertSame(plugin, report.subscriber());
+            assertSame(request, report.event());
+            assertSame(Thread.currentThread(), report.thread());
+            assertTrue(report.elapsedNanos() >= TimeUnit.MILLISECONDS.toNanos(30));
+            assertTrue(Arrays.stream(report.stack()).anyMatch(e -> e.getMethodName().equals("onRequest")), "the stack shows the handler");
+            assertFalse(report.demoted());
+
+            Thread.sleep(100);
+            assertTrue(reports.isEmpty(), "an invocation is reported once");
+        }
+    }
+
+    @Test
+    public void testVirtualThreadsGiveUpTheirSlots() throws InterruptedException {
+        VirtualPlugin plugin = new VirtualPlugin();
+
+        // no scan runs during the test, so only finished invocations can give up their slots
+        try (HandlerWatchdog watchdog = HandlerWatchdog.builder(Duration.ofSeconds(10)).interval(Duration.ofMinutes(1)).build()) {
+            EventBus bus = EventBus.builder().watchdog(watchdog).build();
+            bus.register(plugin);
+            for (int i = 0; i < 10_000; i++) bus.post(new Request(i));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((plugin.handled.get() < 10_000 || watchdog.slotCount() > 0) && System.nanoTime() < deadline) Thread.sleep(1);
+
+            assertEquals(10_000, plugin.handled.get());
+            assertEquals(0, watchdog.slotCount(), "finished virtual threads hold no slot");
+        }
+    }
+
+    @Test
+    public void testReportsSlowAsynchronousHandler() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        BlockingQueue<SlowHandlerReport> reports = new LinkedBlockingQueue<>();
+
+        try (HandlerWatchdog watchdog = HandlerWatchdog.builder(Duration.ofMillis(30)).listener(reports::add).demote(true).build()) {
+            EventBus bus = EventBus.builder().executor(executor).watchdog(watchdog).build();
+            bus.register(new SlowAsyncPlugin());
+            bus.post(new Request(2));
+
+            SlowHandlerReport report = reports.poll(5, TimeUnit.SECONDS);
+            assertNotNull(report);
+            assertEquals("onRequestLater", report.handler().method());
+            assertNotSame(Thread.currentThread(), report.thread());
+            assertFalse(report.demoted(), "asynchronous handlers are not demoted");
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testDemotesSlowSynchronousHandler() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        BlockingQueue<SlowHandlerReport> reports = new LinkedBlockingQueue<>();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        CountDownLatch handled = new CountDownLatch(3);
+
+        try (HandlerWatchdog watchdog = HandlerWatchdog.builder(Duration.ofMillis(30)).listener(reports::add).demote(true).build()) {
+            EventBus bus = EventBus.builder().executor(executor).watchdog(watchdog).build();
+            bus.register(Request.class, r -> {
+                threads.add(Thread.currentThread());
+                if (r.id() == 0) pause(150);
+                handled.countDown();
+            }, EventPriority.NORMAL, false);
+
+            bus.post(new Request(0));
+            SlowHandlerReport report = reports.poll(5, TimeUnit.SECONDS);
+            assertNotNull(report);
+            assertTrue(report.demoted());
+
+            bus.post(new Request(1));
+            bus.post(new Request(2));
+            assertTrue(handled.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        assertSame(Thread.currentThread(), threads.get(0));
+        assertNotSame(Thread.currentThread(), threads.get(1), "a demoted handler runs on the bus executor");
+        assertSame(threads.get(1), threads.get(2));
+    }
+
+    @Test
+    public void testDemotedHandlerNeverOverlapsItsSlowInvocation() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        BlockingQueue<SlowHandlerReport> reports = new LinkedBlockingQueue<>();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch handled = new CountDownLatch(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> order = new CopyOnWriteArrayList<>();
+
+        try (HandlerWatchdog watchdog = HandlerWatchdog.builder(Duration.ofMillis(20)).listener(reports::add).demote(true).build()) {
+            EventBus bus = EventBus.builder().executor(executor).watchdog(watchdog).build();
+            bus.register(Request.class, r -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                if (r.id() == 0) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                order.add(r.id());
+                running.decrementAndGet();
+                handled.countDown();
+            }, EventPriority.NORMAL, false);
+
+            Thread poster = Thread.ofPlatform().start(() -> bus.post(new Request(0)));
+            SlowHandlerReport report = reports.poll(5, TimeUnit.SECONDS);
+            assertNotNull(report);
+            assertTrue(report.demoted());
+
+            bus.post(new Request(1));
+            bus.post(new Request(2));
+            Thread.sleep(50);
+            assertEquals(List.of(), order, "demoted events wait for the slow invocation");
+
+            release.countDown();
+            assertTrue(handled.await(5, TimeUnit.SECONDS));
+            poster.join(5_000);
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, maxRunning.get());
+        assertEquals(List.of(0, 1, 2), order);
+    }
+}